@@ -1,12 +1,30 @@
 package org.devil.proxy;
 
 import org.devil.proxy.annotation.EnableAutoProxyFeign;
+import org.devil.proxy.batch.BatchingInvocationInterceptor;
+import org.devil.proxy.generator.ProxyGenerator;
+import org.devil.proxy.generator.ProxyGenerators;
+import org.devil.proxy.grpc.FeignGrpcServer;
+import org.devil.proxy.idempotency.IdempotencyInvocationInterceptor;
+import org.devil.proxy.invoke.ProxyInvocationPostProcessor;
+import org.devil.proxy.jfr.JfrEvents;
+import org.devil.proxy.jfr.JfrInvocationInterceptor;
+import org.devil.proxy.projection.ProjectionResponseBodyAdvice;
+import org.devil.proxy.quota.QuotaEndpoint;
+import org.devil.proxy.quota.QuotaInvocationInterceptor;
+import org.devil.proxy.slowcall.SlowCallEndpoint;
+import org.devil.proxy.slowcall.SlowCallRecorder;
+import org.devil.proxy.stream.NdjsonResponseWriter;
+import org.devil.proxy.timing.ServerTimingInvocationInterceptor;
+import org.devil.proxy.timing.ServerTimingResponseBodyAdvice;
+import org.devil.proxy.timing.ServerTimingWebMvcConfigurer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
 import org.springframework.beans.factory.support.BeanDefinitionBuilder;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.cloud.openfeign.FeignClient;
@@ -22,6 +40,7 @@ import org.springframework.core.type.filter.AnnotationTypeFilter;
 import org.springframework.lang.NonNull;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 
 import java.util.HashSet;
@@ -38,6 +57,8 @@ public class FeignClientsProxyRegistrar implements ImportBeanDefinitionRegistrar
 
     public final static String FEIGN_PROXY_ENABLE = "feign.proxy.enable";
 
+    private final static String ACTUATOR_ENDPOINT_CLASS = "org.springframework.boot.actuate.endpoint.annotation.Endpoint";
+
     private final Logger logger = LoggerFactory.getLogger(FeignClientsProxyRegistrar.class);
 
     private Environment environment;
@@ -86,6 +107,20 @@ public class FeignClientsProxyRegistrar implements ImportBeanDefinitionRegistrar
             for (String proxyClient : proxyClients) {
                 registerClient(proxyClient,registry);
             }
+
+            registerInvocationInterceptors(registry);
+
+            if (environment.getProperty(ProjectionResponseBodyAdvice.ENABLED,Boolean.class,false)) {
+                registerProjection(registry);
+            }
+
+            if (environment.getProperty(ServerTimingResponseBodyAdvice.ENABLED,Boolean.class,false)) {
+                registerServerTiming(registry);
+            }
+
+            if ((Boolean) attribute.getOrDefault("grpc",false)) {
+                registerGrpcServer(proxyClients,registry);
+            }
         }
 
     }
@@ -96,7 +131,8 @@ public class FeignClientsProxyRegistrar implements ImportBeanDefinitionRegistrar
                 logger.debug("auto proxy client,{}",client);
             }
 //            Object o = beanFactory.getBean(Class.forName(client));
-            Class<?> target = FeignClientBuild.createClientProxy(client);
+            String generator = environment.getProperty(ProxyGenerators.GENERATOR,ProxyGenerators.DEFAULT);
+            Class<?> target = FeignClientBuild.createClientProxy(client,generator);
             if (target != null) {
                 String feignClientName = Class.forName(client).getAnnotation(FeignClient.class).qualifier();
                 BeanDefinitionBuilder beanDefinitionBuilder = BeanDefinitionBuilder.genericBeanDefinition(target);
@@ -104,10 +140,15 @@ public class FeignClientsProxyRegistrar implements ImportBeanDefinitionRegistrar
                 beanDefinitionBuilder.setLazyInit(true);
 
                 BeanDefinition beanDefinition = beanDefinitionBuilder.getBeanDefinition();
+                beanDefinition.setAttribute(ProxyInvocationPostProcessor.PROXY_ATTRIBUTE,client);
                 if (StringUtils.isEmpty(feignClientName)){
                     feignClientName = new AnnotationBeanNameGenerator().generateBeanName(beanDefinition,registry);
                 }
                 registry.registerBeanDefinition(feignClientName,beanDefinition);
+
+                if (ReflectionUtils.findField(target,ProxyGenerator.NDJSON_WRITER_FIELD) != null) {
+                    registerNdjsonWriter(registry);
+                }
             }
         }catch (BeansException e){
             if (logger.isErrorEnabled()){
@@ -121,6 +162,143 @@ public class FeignClientsProxyRegistrar implements ImportBeanDefinitionRegistrar
 
     }
 
+    /**
+     * interceptors between the proxies and their delegates,enabled by properties
+     */
+    private void registerInvocationInterceptors(BeanDefinitionRegistry registry) {
+        if (!registry.containsBeanDefinition(ProxyInvocationPostProcessor.BEAN_NAME)) {
+            BeanDefinitionBuilder beanDefinitionBuilder = BeanDefinitionBuilder.genericBeanDefinition(ProxyInvocationPostProcessor.class);
+            beanDefinitionBuilder.setRole(BeanDefinition.ROLE_INFRASTRUCTURE);
+            registry.registerBeanDefinition(ProxyInvocationPostProcessor.BEAN_NAME,beanDefinitionBuilder.getBeanDefinition());
+        }
+
+        if (environment.getProperty(SlowCallRecorder.ENABLED,Boolean.class,false)
+                && !registry.containsBeanDefinition(SlowCallRecorder.BEAN_NAME)) {
+            BeanDefinitionBuilder beanDefinitionBuilder = BeanDefinitionBuilder.genericBeanDefinition(SlowCallRecorder.class);
+            beanDefinitionBuilder.addConstructorArgValue(environment.getProperty(SlowCallRecorder.SIZE,Integer.class,10));
+            beanDefinitionBuilder.addConstructorArgValue(environment.getProperty(SlowCallRecorder.WINDOW_SECONDS,Long.class,60L));
+            beanDefinitionBuilder.addConstructorArgValue(environment.getProperty(SlowCallRecorder.THRESHOLD_MILLIS,Long.class,10L));
+            beanDefinitionBuilder.addConstructorArgValue(environment.getProperty(SlowCallRecorder.SAMPLE_RATE,Double.class,1.0));
+            beanDefinitionBuilder.setRole(BeanDefinition.ROLE_INFRASTRUCTURE);
+            registry.registerBeanDefinition(SlowCallRecorder.BEAN_NAME,beanDefinitionBuilder.getBeanDefinition());
+
+            if (ClassUtils.isPresent(ACTUATOR_ENDPOINT_CLASS,resourceLoader.getClassLoader())) {
+                BeanDefinitionBuilder endpointBuilder = BeanDefinitionBuilder.genericBeanDefinition(SlowCallEndpoint.class);
+                endpointBuilder.addConstructorArgReference(SlowCallRecorder.BEAN_NAME);
+                registry.registerBeanDefinition(SlowCallEndpoint.BEAN_NAME,endpointBuilder.getBeanDefinition());
+            }
+        }
+
+        if (environment.getProperty(QuotaInvocationInterceptor.ENABLED,Boolean.class,false)
+                && !registry.containsBeanDefinition(QuotaInvocationInterceptor.BEAN_NAME)) {
+            BeanDefinitionBuilder beanDefinitionBuilder = BeanDefinitionBuilder.genericBeanDefinition(QuotaInvocationInterceptor.class);
+            beanDefinitionBuilder.setRole(BeanDefinition.ROLE_INFRASTRUCTURE);
+            registry.registerBeanDefinition(QuotaInvocationInterceptor.BEAN_NAME,beanDefinitionBuilder.getBeanDefinition());
+
+            if (ClassUtils.isPresent(ACTUATOR_ENDPOINT_CLASS,resourceLoader.getClassLoader())) {
+                BeanDefinitionBuilder endpointBuilder = BeanDefinitionBuilder.genericBeanDefinition(QuotaEndpoint.class);
+                endpointBuilder.addConstructorArgReference(QuotaInvocationInterceptor.BEAN_NAME);
+                registry.registerBeanDefinition(QuotaEndpoint.BEAN_NAME,endpointBuilder.getBeanDefinition());
+            }
+        }
+
+        if (environment.getProperty(IdempotencyInvocationInterceptor.ENABLED,Boolean.class,false)
+                && !registry.containsBeanDefinition(IdempotencyInvocationInterceptor.BEAN_NAME)) {
+            BeanDefinitionBuilder beanDefinitionBuilder = BeanDefinitionBuilder.genericBeanDefinition(IdempotencyInvocationInterceptor.class);
+            beanDefinitionBuilder.setAutowireMode(AbstractBeanDefinition.AUTOWIRE_CONSTRUCTOR);
+            beanDefinitionBuilder.setRole(BeanDefinition.ROLE_INFRASTRUCTURE);
+
+            BeanDefinition beanDefinition = beanDefinitionBuilder.getBeanDefinition();
+            beanDefinition.getConstructorArgumentValues().addIndexedArgumentValue(1,environment.getProperty(IdempotencyInvocationInterceptor.MAX_ENTRIES,Integer.class,10000));
+            beanDefinition.getConstructorArgumentValues().addIndexedArgumentValue(2,environment.getProperty(IdempotencyInvocationInterceptor.TTL_SECONDS,Long.class,3600L));
+            beanDefinition.getConstructorArgumentValues().addIndexedArgumentValue(3,environment.getProperty(IdempotencyInvocationInterceptor.WAIT_MILLIS,Long.class,30000L));
+            registry.registerBeanDefinition(IdempotencyInvocationInterceptor.BEAN_NAME,beanDefinition);
+        }
+
+        if (environment.getProperty(BatchingInvocationInterceptor.ENABLED,Boolean.class,false)
+                && !registry.containsBeanDefinition(BatchingInvocationInterceptor.BEAN_NAME)) {
+            BeanDefinitionBuilder beanDefinitionBuilder = BeanDefinitionBuilder.genericBeanDefinition(BatchingInvocationInterceptor.class);
+            beanDefinitionBuilder.setRole(BeanDefinition.ROLE_INFRASTRUCTURE);
+            registry.registerBeanDefinition(BatchingInvocationInterceptor.BEAN_NAME,beanDefinitionBuilder.getBeanDefinition());
+        }
+
+        if (environment.getProperty(JfrInvocationInterceptor.ENABLED,Boolean.class,false)
+                && !registry.containsBeanDefinition(JfrInvocationInterceptor.BEAN_NAME)) {
+            if (JfrEvents.isAvailable()) {
+                BeanDefinitionBuilder beanDefinitionBuilder = BeanDefinitionBuilder.genericBeanDefinition(JfrInvocationInterceptor.class);
+                beanDefinitionBuilder.addConstructorArgValue(environment.getProperty(JfrInvocationInterceptor.SAMPLE_RATE,Double.class,1.0));
+                beanDefinitionBuilder.setRole(BeanDefinition.ROLE_INFRASTRUCTURE);
+                registry.registerBeanDefinition(JfrInvocationInterceptor.BEAN_NAME,beanDefinitionBuilder.getBeanDefinition());
+            } else if (logger.isWarnEnabled()) {
+                logger.warn("{} is set but jdk.jfr is not available",JfrInvocationInterceptor.ENABLED);
+            }
+        }
+    }
+
+    private void registerProjection(BeanDefinitionRegistry registry) {
+        if (registry.containsBeanDefinition(ProjectionResponseBodyAdvice.BEAN_NAME)) {
+            return;
+        }
+        BeanDefinitionBuilder beanDefinitionBuilder = BeanDefinitionBuilder.genericBeanDefinition(ProjectionResponseBodyAdvice.class);
+        beanDefinitionBuilder.setAutowireMode(AbstractBeanDefinition.AUTOWIRE_CONSTRUCTOR);
+        beanDefinitionBuilder.setRole(BeanDefinition.ROLE_INFRASTRUCTURE);
+
+        BeanDefinition beanDefinition = beanDefinitionBuilder.getBeanDefinition();
+        beanDefinition.getConstructorArgumentValues().addIndexedArgumentValue(1,environment.getProperty(ProjectionResponseBodyAdvice.CACHE_SIZE,Integer.class,256));
+        registry.registerBeanDefinition(ProjectionResponseBodyAdvice.BEAN_NAME,beanDefinition);
+    }
+
+    /**
+     * handler start,delegate call and response body advice of the server timing
+     */
+    private void registerServerTiming(BeanDefinitionRegistry registry) {
+        if (registry.containsBeanDefinition(ServerTimingResponseBodyAdvice.BEAN_NAME)) {
+            return;
+        }
+        BeanDefinitionBuilder configurerBuilder = BeanDefinitionBuilder.genericBeanDefinition(ServerTimingWebMvcConfigurer.class);
+        configurerBuilder.setRole(BeanDefinition.ROLE_INFRASTRUCTURE);
+        registry.registerBeanDefinition(ServerTimingWebMvcConfigurer.BEAN_NAME,configurerBuilder.getBeanDefinition());
+
+        BeanDefinitionBuilder interceptorBuilder = BeanDefinitionBuilder.genericBeanDefinition(ServerTimingInvocationInterceptor.class);
+        interceptorBuilder.setRole(BeanDefinition.ROLE_INFRASTRUCTURE);
+        registry.registerBeanDefinition(ServerTimingInvocationInterceptor.BEAN_NAME,interceptorBuilder.getBeanDefinition());
+
+        BeanDefinitionBuilder adviceBuilder = BeanDefinitionBuilder.genericBeanDefinition(ServerTimingResponseBodyAdvice.class);
+        adviceBuilder.setRole(BeanDefinition.ROLE_INFRASTRUCTURE);
+        registry.registerBeanDefinition(ServerTimingResponseBodyAdvice.BEAN_NAME,adviceBuilder.getBeanDefinition());
+    }
+
+    private void registerNdjsonWriter(BeanDefinitionRegistry registry) {
+        if (registry.containsBeanDefinition(NdjsonResponseWriter.BEAN_NAME)) {
+            return;
+        }
+        int flushRows = Optional.ofNullable(environment.getProperty(NdjsonResponseWriter.FLUSH_ROWS,Integer.class)).orElse(64);
+        BeanDefinitionBuilder beanDefinitionBuilder = BeanDefinitionBuilder.genericBeanDefinition(NdjsonResponseWriter.class);
+        beanDefinitionBuilder.setAutowireMode(AbstractBeanDefinition.AUTOWIRE_CONSTRUCTOR);
+        beanDefinitionBuilder.setLazyInit(true);
+        beanDefinitionBuilder.setRole(BeanDefinition.ROLE_INFRASTRUCTURE);
+
+        BeanDefinition beanDefinition = beanDefinitionBuilder.getBeanDefinition();
+        beanDefinition.getConstructorArgumentValues().addIndexedArgumentValue(1,flushRows);
+        registry.registerBeanDefinition(NdjsonResponseWriter.BEAN_NAME,beanDefinition);
+    }
+
+    private void registerGrpcServer(String[] clients,BeanDefinitionRegistry registry) {
+        if (registry.containsBeanDefinition(FeignGrpcServer.BEAN_NAME)) {
+            return;
+        }
+        BeanDefinitionBuilder beanDefinitionBuilder = BeanDefinitionBuilder.genericBeanDefinition(FeignGrpcServer.class);
+        beanDefinitionBuilder.setAutowireMode(AbstractBeanDefinition.AUTOWIRE_CONSTRUCTOR);
+        beanDefinitionBuilder.setRole(BeanDefinition.ROLE_INFRASTRUCTURE);
+
+        BeanDefinition beanDefinition = beanDefinitionBuilder.getBeanDefinition();
+        beanDefinition.getConstructorArgumentValues().addIndexedArgumentValue(0,clients);
+        registry.registerBeanDefinition(FeignGrpcServer.BEAN_NAME,beanDefinition);
+        if (logger.isDebugEnabled()){
+            logger.debug("grpc service for clients {}",(Object) clients);
+        }
+    }
+
     protected Set<String> getBasePackage(AnnotationMetadata metadata){
         Map<String, Object> attributes = metadata.getAnnotationAttributes(EnableAutoProxyFeign.class.getName(),true);
         Set<String> basePackages = new HashSet<>();
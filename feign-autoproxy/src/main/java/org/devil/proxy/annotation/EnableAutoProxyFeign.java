@@ -58,4 +58,10 @@ public @interface EnableAutoProxyFeign {
      */
     boolean enable() default true;
 
+    /**
+     * also serve the implementations of the clients over grpc,see {@link org.devil.proxy.grpc.FeignGrpcServer}
+     * @return
+     */
+    boolean grpc() default false;
+
 }
@@ -0,0 +1,49 @@
+package org.devil.proxy.batch;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.devil.proxy.invoke.ProxyMethod;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * micrometer meters of one batched method,registered in the global registry spring boot adds its registry to.
+ * only loaded when micrometer is present
+ * <pre>
+ *     feign.proxy.batch.size        keys per batch
+ *     feign.proxy.batch.wait        first key to dispatch
+ *     feign.proxy.batch.execution   call of the batch method
+ * </pre>
+ *
+ * @author yaojun
+ * 2026/10/21 09:18
+ */
+final class BatchMeters {
+
+    private final DistributionSummary size;
+
+    private final Timer wait;
+
+    private final Timer execution;
+
+    BatchMeters(ProxyMethod method) {
+        String client = method.getClient().getName();
+        String name = method.getName();
+        this.size = DistributionSummary.builder("feign.proxy.batch.size")
+                .tags("client", client, "method", name)
+                .register(Metrics.globalRegistry);
+        this.wait = Timer.builder("feign.proxy.batch.wait")
+                .tags("client", client, "method", name)
+                .register(Metrics.globalRegistry);
+        this.execution = Timer.builder("feign.proxy.batch.execution")
+                .tags("client", client, "method", name)
+                .register(Metrics.globalRegistry);
+    }
+
+    void record(int keys, long waitNanos, long executionNanos) {
+        size.record(keys);
+        wait.record(waitNanos, TimeUnit.NANOSECONDS);
+        execution.record(executionNanos, TimeUnit.NANOSECONDS);
+    }
+}
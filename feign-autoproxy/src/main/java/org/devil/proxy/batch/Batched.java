@@ -0,0 +1,49 @@
+package org.devil.proxy.batch;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * collect concurrent calls of a single key method into one call of a batch method of the same implementation.
+ * <p>
+ * the first call of a batch waits up to {@link #maxWaitMillis()} for others,a batch reaching {@link #maxSize()} keys
+ * is sent at once. equal keys share one result. the batch method takes a {@code List} or {@code Set} of keys and
+ * returns a {@code Map} by key or a {@code List} in key order
+ * <pre>
+ *     &#64;Batched(method = "getByIds")
+ *     &#64;GetMapping("/users/{id}")
+ *     User getById(&#64;PathVariable("id") Long id);
+ *
+ *     // on the implementation,or the interface
+ *     public Map&lt;Long, User&gt; getByIds(List&lt;Long&gt; ids)
+ * </pre>
+ * the batch runs on the thread of one of its calls,under that call's request,security and transaction context.
+ * the batch method must not rely on per request thread local state.
+ * the other calls wait at most {@link #maxWaitMillis()} + {@link #timeoutMillis()} and then fail with 503.
+ * needs {@code feign.proxy.batching.enabled=true}
+ *
+ * @author yaojun
+ * 2026/10/21 09:10
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Batched {
+
+    /**
+     * name of the batch method
+     */
+    String method();
+
+    int maxSize() default 100;
+
+    long maxWaitMillis() default 2;
+
+    /**
+     * how long a call waits for a batch sent by another call,after the window
+     */
+    long timeoutMillis() default 10_000;
+}
@@ -0,0 +1,117 @@
+package org.devil.proxy.batch;
+
+import org.devil.proxy.invoke.ProxyInvocation;
+import org.devil.proxy.invoke.ProxyInvocationInterceptor;
+import org.devil.proxy.invoke.ProxyMethod;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * send concurrent calls of {@link Batched} methods to their batch method,see {@link MicroBatcher}.
+ * batch size,wait and execution are recorded with micrometer when it is present
+ * <pre>
+ *     feign.proxy.batching.enabled=true
+ * </pre>
+ *
+ * @author yaojun
+ * 2026/10/21 09:50
+ */
+public class BatchingInvocationInterceptor implements ProxyInvocationInterceptor {
+
+    public final static String BEAN_NAME = "feignProxyBatchingInvocationInterceptor";
+
+    public final static String ENABLED = "feign.proxy.batching.enabled";
+
+    private final static boolean METERS = ClassUtils.isPresent("io.micrometer.core.instrument.Metrics",
+            BatchingInvocationInterceptor.class.getClassLoader());
+
+    private final static Logger logger = LoggerFactory.getLogger(BatchingInvocationInterceptor.class);
+
+    private final ConcurrentMap<ProxyMethod, Batched> methods = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<ProxyMethod, MicroBatcher> batchers = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean supports(ProxyMethod method) {
+        Batched batched = AnnotatedElementUtils.findMergedAnnotation(method.getMethod(), Batched.class);
+        if (batched == null) {
+            return false;
+        }
+        if (method.getMethod().getParameterCount() != 1) {
+            if (logger.isWarnEnabled()) {
+                logger.warn("{} does not take a single key,@Batched ignored", method);
+            }
+            return false;
+        }
+        methods.put(method, batched);
+        return true;
+    }
+
+    @Override
+    public Object invoke(ProxyInvocation invocation) throws Throwable {
+        Object key = invocation.getArguments()[0];
+        if (key == null) {
+            return invocation.proceed();
+        }
+        MicroBatcher batcher = batchers.computeIfAbsent(invocation.getMethod(), method -> {
+            Batched batched = methods.get(method);
+            Object target = invocation.getTarget();
+            Method batchMethod = findBatchMethod(AopProxyUtils.ultimateTargetClass(target), batched.method());
+            try {
+                /**
+                 * through the proxy,advice of the batch method(@Transactional,@Cacheable..) applies
+                 */
+                batchMethod = MethodIntrospector.selectInvocableMethod(batchMethod, target.getClass());
+            } catch (IllegalStateException e) {
+                /**
+                 * only declared on the class behind a jdk proxy
+                 */
+                Object singletonTarget = AopProxyUtils.getSingletonTarget(target);
+                if (singletonTarget == null) {
+                    throw new IllegalStateException(batchMethod + " is not on an interface of " + target.getClass().getName()
+                            + " and the proxy has no single target", e);
+                }
+                if (logger.isWarnEnabled()) {
+                    logger.warn("{} is not on an interface of the proxy,called on the target without its advice", batchMethod);
+                }
+                target = singletonTarget;
+            }
+            if (logger.isDebugEnabled()) {
+                logger.debug("{} batched by {}", method, batchMethod);
+            }
+            return new MicroBatcher(method, target, batchMethod, batched, METERS);
+        });
+        return batcher.load(key);
+    }
+
+    /**
+     * innermost,the other interceptors see every single call
+     */
+    @Override
+    public int getOrder() {
+        return LOWEST_PRECEDENCE;
+    }
+
+    private static Method findBatchMethod(Class<?> targetClass, String name) {
+        for (Method method : targetClass.getMethods()) {
+            if (method.getName().equals(name) && method.getParameterCount() == 1 && !Modifier.isStatic(method.getModifiers())) {
+                Class<?> keys = method.getParameterTypes()[0];
+                if (keys.isAssignableFrom(ArrayList.class) || keys.isAssignableFrom(LinkedHashSet.class)) {
+                    return method;
+                }
+            }
+        }
+        throw new IllegalStateException("no public method " + name + "(List|Set) on " + targetClass.getName());
+    }
+}
@@ -0,0 +1,162 @@
+package org.devil.proxy.batch;
+
+import org.devil.proxy.invoke.ProxyMethod;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * batches of one {@link Batched} method.
+ * <p>
+ * the call opening a batch is its leader: it waits for its own result up to the window,then sends the batch if
+ * nobody else did. the call filling a batch sends it at once. batches run on the calling thread,no thread pool.
+ * calls waiting for a batch sent by another call give up after the window plus {@link Batched#timeoutMillis()}
+ *
+ * @author yaojun
+ * 2026/10/21 09:30
+ */
+final class MicroBatcher {
+
+    private final Object target;
+
+    private final Method batchMethod;
+
+    private final boolean setOfKeys;
+
+    private final int maxSize;
+
+    private final long maxWaitNanos;
+
+    private final long timeoutNanos;
+
+    private final BatchMeters meters;
+
+    private final Object lock = new Object();
+
+    private Batch current;
+
+    MicroBatcher(ProxyMethod method, Object target, Method batchMethod, Batched batched, boolean meters) {
+        this.target = target;
+        this.batchMethod = batchMethod;
+        this.setOfKeys = !batchMethod.getParameterTypes()[0].isAssignableFrom(ArrayList.class);
+        this.maxSize = Math.max(1, batched.maxSize());
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, batched.maxWaitMillis()));
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, batched.timeoutMillis()));
+        this.meters = meters ? new BatchMeters(method) : null;
+    }
+
+    Object load(Object key) throws Throwable {
+        Batch batch;
+        CompletableFuture<Object> future;
+        boolean leader = false;
+        boolean full = false;
+        synchronized (lock) {
+            if (current == null) {
+                current = new Batch();
+                leader = true;
+            }
+            batch = current;
+            future = batch.futures.computeIfAbsent(key, k -> new CompletableFuture<>());
+            if (batch.futures.size() >= maxSize) {
+                current = null;
+                full = true;
+            }
+        }
+
+        if (full) {
+            dispatch(batch);
+        } else if (leader) {
+            try {
+                return future.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+            } catch (ExecutionException e) {
+                throw e.getCause();
+            } catch (TimeoutException e) {
+                /**
+                 * window is over
+                 */
+            } finally {
+                dispatchIfCurrent(batch);
+            }
+        }
+
+        try {
+            return future.get(maxWaitNanos + timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } catch (TimeoutException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "batch of " + batchMethod.getName()
+                    + " did not complete within " + TimeUnit.NANOSECONDS.toMillis(maxWaitNanos + timeoutNanos) + "ms", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "interrupted waiting for the batch of " + batchMethod.getName(), e);
+        }
+    }
+
+    private void dispatchIfCurrent(Batch batch) {
+        synchronized (lock) {
+            if (current != batch) {
+                return;
+            }
+            current = null;
+        }
+        dispatch(batch);
+    }
+
+    /**
+     * the batch is detached,nobody adds keys any more
+     */
+    private void dispatch(Batch batch) {
+        List<Object> keys = new ArrayList<>(batch.futures.keySet());
+        long start = System.nanoTime();
+        try {
+            Object result = AopUtils.invokeJoinpointUsingReflection(target, batchMethod,
+                    new Object[]{setOfKeys ? new LinkedHashSet<>(keys) : keys});
+            fanOut(keys, batch.futures, result);
+        } catch (Throwable e) {
+            for (CompletableFuture<Object> future : batch.futures.values()) {
+                future.completeExceptionally(e);
+            }
+        } finally {
+            if (meters != null) {
+                meters.record(keys.size(), start - batch.created, System.nanoTime() - start);
+            }
+        }
+    }
+
+    private void fanOut(List<Object> keys, Map<Object, CompletableFuture<Object>> futures, Object result) {
+        if (result instanceof Map) {
+            Map<?, ?> values = (Map<?, ?>) result;
+            for (Object key : keys) {
+                futures.get(key).complete(values.get(key));
+            }
+        } else if (result instanceof Collection && ((Collection<?>) result).size() == keys.size()) {
+            Iterator<?> values = ((Collection<?>) result).iterator();
+            for (Object key : keys) {
+                futures.get(key).complete(values.next());
+            }
+        } else {
+            throw new IllegalStateException(batchMethod + " returned " + (result == null ? "null" : result.getClass().getName())
+                    + ",expected a map by key or a list of " + keys.size() + " values in key order");
+        }
+    }
+
+    private static class Batch {
+
+        private final Map<Object, CompletableFuture<Object>> futures = new LinkedHashMap<>();
+
+        private final long created = System.nanoTime();
+    }
+}
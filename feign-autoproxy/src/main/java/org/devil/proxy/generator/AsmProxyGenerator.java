@@ -0,0 +1,250 @@
+package org.devil.proxy.generator;
+
+import org.devil.proxy.stream.NdjsonResponseWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.asm.AnnotationVisitor;
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.FieldVisitor;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.annotation.Resource;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * asm backend(spring repackaged asm),bytecode and annotations are written directly from reflection,
+ * nothing is compiled from source and no class pool is kept
+ *
+ * @author yaojun
+ * 2026/10/19 17:20
+ */
+public class AsmProxyGenerator implements ProxyGenerator {
+
+    public final static String NAME = "asm";
+
+    private final static Logger logger = LoggerFactory.getLogger(AsmProxyGenerator.class);
+
+    private final static String RESPONSE_ENTITY_INTERNAL_NAME = "org/springframework/http/ResponseEntity";
+
+    private final static String STREAMING_BODY_INTERNAL_NAME = "org/springframework/web/servlet/mvc/method/annotation/StreamingResponseBody";
+
+    private final static String NDJSON_WRITER_INTERNAL_NAME = "org/devil/proxy/stream/NdjsonResponseWriter";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public byte[] generate(Class<?> client) throws Exception {
+        /**
+         * client must be annotationed  @FeignClient
+         */
+        Assert.isTrue(client.isAnnotationPresent(FeignClient.class), client.getName() + " is not feign client");
+
+        String internalName = ProxyGenerator.proxyClassName(client).replace('.', '/');
+        String clientDescriptor = Type.getDescriptor(client);
+
+        ClassWriter classWriter = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        classWriter.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_SUPER, internalName, null, "java/lang/Object", null);
+
+        addClassAnnotation(client, classWriter);
+
+        /**
+         * add proxy client field
+         */
+        addResourceField(classWriter, DELEGATE_FIELD, clientDescriptor, null);
+
+        boolean streaming = false;
+        for (Method method : ProxyGenerator.proxiedMethods(client)) {
+            streaming |= isStreaming(method);
+        }
+        if (streaming) {
+            addResourceField(classWriter, NDJSON_WRITER_FIELD, "L" + NDJSON_WRITER_INTERNAL_NAME + ";", NdjsonResponseWriter.BEAN_NAME);
+        }
+
+        addConstructor(classWriter);
+
+        /**
+         * generate proxy method
+         */
+        for (Method method : ProxyGenerator.proxiedMethods(client)) {
+            addProxyMethod(classWriter, internalName, client, method);
+        }
+
+        classWriter.visitEnd();
+        return classWriter.toByteArray();
+    }
+
+    private static boolean isStreaming(Method method) {
+        return method.getReturnType() == Stream.class || method.getReturnType() == Iterator.class;
+    }
+
+    private static void addClassAnnotation(Class<?> client, ClassWriter classWriter) throws Exception {
+        boolean restController = false;
+        boolean requestMapping = client.isAnnotationPresent(RequestMapping.class);
+        for (Annotation annotation : client.getAnnotations()) {
+            /**
+             * auto add RequestMapping annotation if necessary
+             */
+            if (annotation instanceof FeignClient) {
+                String path = ((FeignClient) annotation).path();
+                if (StringUtils.hasText(path) && !requestMapping) {
+                    AnnotationVisitor visitor = classWriter.visitAnnotation(Type.getDescriptor(RequestMapping.class), true);
+                    AnnotationVisitor paths = visitor.visitArray("path");
+                    paths.visit(null, path);
+                    paths.visitEnd();
+                    visitor.visitEnd();
+                    if (logger.isDebugEnabled()) {
+                        logger.debug("client {} add class annotation @RequestMapping({})", client.getSimpleName(), path);
+                    }
+                }
+                continue;
+            }
+            restController |= annotation instanceof RestController;
+            writeAnnotation(classWriter.visitAnnotation(Type.getDescriptor(annotation.annotationType()), true), annotation);
+        }
+        /**
+         * auto add RestController annotation
+         */
+        if (!restController) {
+            classWriter.visitAnnotation(Type.getDescriptor(RestController.class), true).visitEnd();
+        }
+    }
+
+    private static void addResourceField(ClassWriter classWriter, String name, String descriptor, String resourceName) {
+        FieldVisitor fieldVisitor = classWriter.visitField(Opcodes.ACC_PRIVATE, name, descriptor, null, null);
+        AnnotationVisitor resource = fieldVisitor.visitAnnotation(Type.getDescriptor(Resource.class), true);
+        if (resourceName != null) {
+            resource.visit("name", resourceName);
+        }
+        resource.visitEnd();
+        fieldVisitor.visitEnd();
+    }
+
+    private static void addConstructor(ClassWriter classWriter) {
+        MethodVisitor constructor = classWriter.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        constructor.visitCode();
+        constructor.visitVarInsn(Opcodes.ALOAD, 0);
+        constructor.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        constructor.visitInsn(Opcodes.RETURN);
+        constructor.visitMaxs(0, 0);
+        constructor.visitEnd();
+    }
+
+    /**
+     * R m(..) {return this.delegate.m(..);}
+     * ResponseEntity&lt;StreamingResponseBody&gt; m(..) {return this.ndjsonWriter.write(this.delegate.m(..));}
+     */
+    private static void addProxyMethod(ClassWriter classWriter, String internalName, Class<?> client, Method method) throws Exception {
+        String clientMethodDescriptor = Type.getMethodDescriptor(method);
+        Type[] argumentTypes = Type.getArgumentTypes(method);
+        boolean streaming = isStreaming(method);
+
+        String descriptor = clientMethodDescriptor;
+        String signature = null;
+        if (streaming) {
+            String parameters = clientMethodDescriptor.substring(0, clientMethodDescriptor.indexOf(')') + 1);
+            descriptor = parameters + "L" + RESPONSE_ENTITY_INTERNAL_NAME + ";";
+            signature = parameters + "L" + RESPONSE_ENTITY_INTERNAL_NAME + "<L" + STREAMING_BODY_INTERNAL_NAME + ";>;";
+        }
+
+        String[] exceptions = new String[method.getExceptionTypes().length];
+        for (int i = 0; i < exceptions.length; i++) {
+            exceptions[i] = Type.getInternalName(method.getExceptionTypes()[i]);
+        }
+
+        MethodVisitor methodVisitor = classWriter.visitMethod(Opcodes.ACC_PUBLIC, method.getName(), descriptor, signature,
+                exceptions.length == 0 ? null : exceptions);
+
+        /**
+         * 增加方法上的注解
+         */
+        for (Annotation annotation : method.getDeclaredAnnotations()) {
+            writeAnnotation(methodVisitor.visitAnnotation(Type.getDescriptor(annotation.annotationType()), true), annotation);
+        }
+
+        /**
+         * 方法参数上的注解
+         */
+        Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+        for (int i = 0; i < parameterAnnotations.length; i++) {
+            for (Annotation annotation : parameterAnnotations[i]) {
+                writeAnnotation(methodVisitor.visitParameterAnnotation(i, Type.getDescriptor(annotation.annotationType()), true), annotation);
+            }
+        }
+
+        methodVisitor.visitCode();
+        if (streaming) {
+            methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+            methodVisitor.visitFieldInsn(Opcodes.GETFIELD, internalName, NDJSON_WRITER_FIELD, "L" + NDJSON_WRITER_INTERNAL_NAME + ";");
+        }
+        methodVisitor.visitVarInsn(Opcodes.ALOAD, 0);
+        methodVisitor.visitFieldInsn(Opcodes.GETFIELD, internalName, DELEGATE_FIELD, Type.getDescriptor(client));
+        int slot = 1;
+        for (Type argumentType : argumentTypes) {
+            methodVisitor.visitVarInsn(argumentType.getOpcode(Opcodes.ILOAD), slot);
+            slot += argumentType.getSize();
+        }
+        methodVisitor.visitMethodInsn(Opcodes.INVOKEINTERFACE, Type.getInternalName(client), method.getName(), clientMethodDescriptor, true);
+
+        if (streaming) {
+            methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, NDJSON_WRITER_INTERNAL_NAME, "write",
+                    "(Ljava/lang/Object;)L" + RESPONSE_ENTITY_INTERNAL_NAME + ";", false);
+            methodVisitor.visitInsn(Opcodes.ARETURN);
+            if (logger.isDebugEnabled()) {
+                logger.debug("client method {} is streamed as ndjson", method);
+            }
+        } else {
+            methodVisitor.visitInsn(Type.getReturnType(method).getOpcode(Opcodes.IRETURN));
+        }
+        methodVisitor.visitMaxs(0, 0);
+        methodVisitor.visitEnd();
+    }
+
+    /**
+     * write every member of the annotation,defaults included,like {@code AnnotationUtil}
+     */
+    private static void writeAnnotation(AnnotationVisitor visitor, Annotation annotation) throws Exception {
+        for (Method member : annotation.annotationType().getDeclaredMethods()) {
+            writeValue(visitor, member.getName(), member.invoke(annotation));
+        }
+        visitor.visitEnd();
+    }
+
+    private static void writeValue(AnnotationVisitor visitor, String name, Object value) throws Exception {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof Class) {
+            visitor.visit(name, Type.getType((Class<?>) value));
+        } else if (value instanceof Enum) {
+            visitor.visitEnum(name, Type.getDescriptor(((Enum<?>) value).getDeclaringClass()), ((Enum<?>) value).name());
+        } else if (value instanceof Annotation) {
+            Annotation nested = (Annotation) value;
+            writeAnnotation(visitor.visitAnnotation(name, Type.getDescriptor(nested.annotationType())), nested);
+        } else if (value.getClass().isArray()) {
+            AnnotationVisitor arrayVisitor = visitor.visitArray(name);
+            for (int i = 0; i < Array.getLength(value); i++) {
+                writeValue(arrayVisitor, null, Array.get(value, i));
+            }
+            arrayVisitor.visitEnd();
+        } else {
+            /**
+             * String and boxed primitives
+             */
+            visitor.visit(name, value);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package org.devil.proxy.generator;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+
+/**
+ * generate the bytecode of the rest controller proxying a {@code @FeignClient} interface.
+ * <p>
+ * the proxy class is named {@link #proxyClassName(Class)},copies the annotations of the interface,its methods and
+ * parameters,turns {@code @FeignClient#path} into {@code @RequestMapping},adds {@code @RestController} and
+ * delegates every method to the {@code @Resource} field {@link #DELEGATE_FIELD}.
+ * {@code Stream}/{@code Iterator} methods return {@code ResponseEntity<StreamingResponseBody>} through the
+ * {@link #NDJSON_WRITER_FIELD} field.
+ * <p>
+ * implementations are looked up by {@link #getName()} with {@link java.util.ServiceLoader},
+ * select one with {@code feign.proxy.generator}
+ *
+ * @author yaojun
+ * 2026/10/19 17:02
+ */
+public interface ProxyGenerator {
+
+    String DELEGATE_FIELD = "delegate";
+
+    String NDJSON_WRITER_FIELD = "ndjsonWriter";
+
+    String PROXY_SUFFIX = "#FeignAutoProxy";
+
+    String getName();
+
+    /**
+     * @param client feign client interface
+     * @return class file of the proxy
+     */
+    byte[] generate(Class<?> client) throws Exception;
+
+    static String proxyClassName(Class<?> client) {
+        return client + PROXY_SUFFIX;
+    }
+
+    /**
+     * methods of the client every backend proxies:declared,neither static nor synthetic
+     */
+    static Method[] proxiedMethods(Class<?> client) {
+        return Arrays.stream(client.getDeclaredMethods())
+                .filter(method -> !Modifier.isStatic(method.getModifiers()) && !method.isSynthetic())
+                .toArray(Method[]::new);
+    }
+}
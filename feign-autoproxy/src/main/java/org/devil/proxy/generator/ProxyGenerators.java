@@ -0,0 +1,45 @@
+package org.devil.proxy.generator;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * registry of the {@link ProxyGenerator} implementations found with {@link ServiceLoader}
+ *
+ * @author yaojun
+ * 2026/10/19 17:08
+ */
+public final class ProxyGenerators {
+
+    public final static String GENERATOR = "feign.proxy.generator";
+
+    public final static String DEFAULT = JavassistProxyGenerator.NAME;
+
+    private final static Map<String, ProxyGenerator> GENERATORS = load();
+
+    private ProxyGenerators() {
+    }
+
+    public static ProxyGenerator get(String name) {
+        ProxyGenerator generator = GENERATORS.get(name);
+        if (generator == null) {
+            throw new IllegalArgumentException("unknown proxy generator " + name + ",available " + GENERATORS.keySet());
+        }
+        return generator;
+    }
+
+    public static Collection<ProxyGenerator> all() {
+        return Collections.unmodifiableCollection(GENERATORS.values());
+    }
+
+    private static Map<String, ProxyGenerator> load() {
+        Map<String, ProxyGenerator> generators = new LinkedHashMap<>();
+        for (ProxyGenerator generator : ServiceLoader.load(ProxyGenerator.class, ProxyGenerators.class.getClassLoader())) {
+            generators.putIfAbsent(generator.getName(), generator);
+        }
+        return generators;
+    }
+}
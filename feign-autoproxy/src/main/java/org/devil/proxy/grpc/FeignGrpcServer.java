@@ -0,0 +1,198 @@
+package org.devil.proxy.grpc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import io.grpc.ServerInterceptors;
+import io.grpc.inprocess.InProcessServerBuilder;
+import org.devil.proxy.invoke.ProxyInvocationPostProcessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanClassLoaderAware;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.BeanFactoryUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.env.Environment;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * serve the implementations of the proxied feign clients over grpc,registered by
+ * {@code @EnableAutoProxyFeign(grpc = true)}.
+ * <pre>
+ *     feign.proxy.grpc.port             listen port,needs a grpc transport(e.g. grpc-netty-shaded) on the classpath
+ *     feign.proxy.grpc.in-process-name  serve in process instead,used for tests
+ * </pre>
+ * every client is served by its implementation,the bean of the client type that is not a feign client,
+ * wrapped in the same {@link org.devil.proxy.invoke.ProxyInvocationInterceptor} chain as the rest proxy,
+ * sharing its methods and so the state interceptors keep per method(batches,slow call windows,quotas).
+ * the quotas take the caller from {@link GrpcCallers},
+ * the other interceptors reading the http request(idempotency,server timing) see none over grpc and let the calls pass
+ *
+ * @author yaojun
+ * 2026/10/19 15:58
+ */
+public class FeignGrpcServer implements SmartLifecycle, BeanFactoryAware, BeanClassLoaderAware {
+
+    public final static String BEAN_NAME = "feignProxyGrpcServer";
+
+    public final static String PORT = "feign.proxy.grpc.port";
+
+    public final static String IN_PROCESS_NAME = "feign.proxy.grpc.in-process-name";
+
+    private final static String FEIGN_FACTORY_BEAN_CLASS = "org.springframework.cloud.openfeign.FeignClientFactoryBean";
+
+    private final static Logger logger = LoggerFactory.getLogger(FeignGrpcServer.class);
+
+    private final String[] clients;
+
+    private final Environment environment;
+
+    private final ObjectProvider<GrpcCodec> codec;
+
+    private final ObjectProvider<ObjectMapper> objectMapper;
+
+    private ConfigurableListableBeanFactory beanFactory;
+
+    private ClassLoader classLoader;
+
+    private volatile Server server;
+
+    public FeignGrpcServer(String[] clients, Environment environment, ObjectProvider<GrpcCodec> codec, ObjectProvider<ObjectMapper> objectMapper) {
+        this.clients = clients;
+        this.environment = environment;
+        this.codec = codec;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+        this.beanFactory = (ConfigurableListableBeanFactory) beanFactory;
+    }
+
+    @Override
+    public void setBeanClassLoader(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    @Override
+    public void start() {
+        String inProcessName = environment.getProperty(IN_PROCESS_NAME);
+        ServerBuilder<?> serverBuilder = inProcessName != null
+                ? InProcessServerBuilder.forName(inProcessName)
+                : ServerBuilder.forPort(environment.getProperty(PORT, Integer.class, 9090));
+
+        GrpcCodec grpcCodec = codec.getIfUnique(() -> new JacksonGrpcCodec(objectMapper.getIfUnique(ObjectMapper::new)));
+        for (String client : clients) {
+            Class<?> clientClass = ClassUtils.resolveClassName(client, classLoader);
+            String implementation = implementation(clientClass);
+            if (implementation == null) {
+                if (logger.isWarnEnabled()) {
+                    logger.warn("client {} has no implementation,skip grpc service", client);
+                }
+                continue;
+            }
+            Object delegate = beanFactory.getBean(implementation);
+            if (beanFactory.containsBean(ProxyInvocationPostProcessor.BEAN_NAME)) {
+                delegate = beanFactory.getBean(ProxyInvocationPostProcessor.BEAN_NAME, ProxyInvocationPostProcessor.class)
+                        .intercept(clientClass, delegate);
+            }
+            serverBuilder.addService(ServerInterceptors.intercept(FeignGrpcServices.bind(clientClass, delegate, grpcCodec), GrpcCallers.server()));
+            if (logger.isDebugEnabled()) {
+                logger.debug("grpc service {} bound to {}", GrpcMethods.serviceName(clientClass), implementation);
+            }
+        }
+
+        try {
+            server = serverBuilder.build().start();
+        } catch (IOException e) {
+            throw new IllegalStateException("feign proxy grpc server can not start", e);
+        }
+        if (logger.isInfoEnabled()) {
+            logger.info("feign proxy grpc server started,{}", inProcessName != null ? "in process " + inProcessName : "port " + server.getPort());
+        }
+    }
+
+    /**
+     * name of the bean implementing the client,feign clients of the same interface excluded
+     *
+     * @return null when there is none
+     * @throws IllegalStateException several implementations and none of them primary
+     */
+    private String implementation(Class<?> client) {
+        List<String> candidates = new ArrayList<>();
+        for (String name : BeanFactoryUtils.beanNamesForTypeIncludingAncestors(beanFactory, client)) {
+            if (!isFeignClient(name)) {
+                candidates.add(name);
+            }
+        }
+        if (candidates.size() <= 1) {
+            return candidates.isEmpty() ? null : candidates.get(0);
+        }
+        List<String> primary = new ArrayList<>();
+        for (String candidate : candidates) {
+            if (beanFactory.containsBeanDefinition(candidate) && beanFactory.getMergedBeanDefinition(candidate).isPrimary()) {
+                primary.add(candidate);
+            }
+        }
+        if (primary.size() != 1) {
+            throw new IllegalStateException("client " + client.getName() + " has " + candidates.size()
+                    + " implementations " + candidates + ",mark one @Primary to serve it over grpc");
+        }
+        return primary.get(0);
+    }
+
+    private boolean isFeignClient(String name) {
+        if (!beanFactory.containsBeanDefinition(name)) {
+            return false;
+        }
+        BeanDefinition definition = beanFactory.getMergedBeanDefinition(name);
+        return FEIGN_FACTORY_BEAN_CLASS.equals(definition.getBeanClassName());
+    }
+
+    @Override
+    public void stop() {
+        Server current = server;
+        if (current == null) {
+            return;
+        }
+        current.shutdown();
+        try {
+            current.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        current.shutdownNow();
+        server = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return true;
+    }
+
+    @Override
+    public void stop(Runnable callback) {
+        stop();
+        callback.run();
+    }
+
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE;
+    }
+}
@@ -0,0 +1,102 @@
+package org.devil.proxy.grpc;
+
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.Status;
+import io.grpc.stub.ServerCalls;
+import io.grpc.stub.StreamObserver;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * bind the implementation of a feign client interface as a grpc service,
+ * the grpc counterpart of the generated rest proxy
+ *
+ * @author yaojun
+ * 2026/10/19 15:45
+ */
+public final class FeignGrpcServices {
+
+    private FeignGrpcServices() {
+    }
+
+    public static ServerServiceDefinition bind(Class<?> client, Object delegate, GrpcCodec codec) {
+        ServerServiceDefinition.Builder builder = ServerServiceDefinition.builder(GrpcMethods.serviceName(client));
+        for (Map.Entry<Method, MethodDescriptor<Object[], Object>> entry : GrpcMethods.describe(client, codec).entrySet()) {
+            Method method = entry.getKey();
+            MethodDescriptor<Object[], Object> descriptor = entry.getValue();
+            if (descriptor.getType() == MethodDescriptor.MethodType.SERVER_STREAMING) {
+                builder.addMethod(descriptor, ServerCalls.asyncServerStreamingCall(
+                        (Object[] arguments, StreamObserver<Object> observer) -> streamRows(method, delegate, arguments, observer)));
+            } else {
+                builder.addMethod(descriptor, ServerCalls.asyncUnaryCall(
+                        (Object[] arguments, StreamObserver<Object> observer) -> invokeUnary(method, delegate, arguments, observer)));
+            }
+        }
+        return builder.build();
+    }
+
+    private static void invokeUnary(Method method, Object delegate, Object[] arguments, StreamObserver<Object> observer) {
+        Object result;
+        try {
+            result = method.invoke(delegate, arguments);
+        } catch (InvocationTargetException e) {
+            observer.onError(toStatus(e.getTargetException()).asRuntimeException());
+            return;
+        } catch (IllegalAccessException | IllegalArgumentException e) {
+            observer.onError(Status.INVALID_ARGUMENT.withDescription(e.getMessage()).withCause(e).asRuntimeException());
+            return;
+        }
+        observer.onNext(result);
+        observer.onCompleted();
+    }
+
+    private static void streamRows(Method method, Object delegate, Object[] arguments, StreamObserver<Object> observer) {
+        try {
+            Object rows = method.invoke(delegate, arguments);
+            if (rows instanceof Stream) {
+                try (Stream<?> stream = (Stream<?>) rows) {
+                    stream.forEachOrdered(observer::onNext);
+                }
+            } else if (rows instanceof Iterator) {
+                ((Iterator<?>) rows).forEachRemaining(observer::onNext);
+            }
+            observer.onCompleted();
+        } catch (InvocationTargetException e) {
+            observer.onError(toStatus(e.getTargetException()).asRuntimeException());
+        } catch (IllegalAccessException | IllegalArgumentException e) {
+            observer.onError(Status.INVALID_ARGUMENT.withDescription(e.getMessage()).withCause(e).asRuntimeException());
+        } catch (RuntimeException e) {
+            /**
+             * failure while iterating the rows
+             */
+            observer.onError(toStatus(e).asRuntimeException());
+        }
+    }
+
+    private static Status toStatus(Throwable throwable) {
+        Status status = Status.fromThrowable(throwable);
+        if (status.getCode() != Status.Code.UNKNOWN) {
+            return status;
+        }
+        if (throwable instanceof ResponseStatusException) {
+            HttpStatus httpStatus = ((ResponseStatusException) throwable).getStatus();
+            if (httpStatus == HttpStatus.TOO_MANY_REQUESTS) {
+                return Status.RESOURCE_EXHAUSTED.withDescription(throwable.getMessage()).withCause(throwable);
+            }
+            if (httpStatus == HttpStatus.SERVICE_UNAVAILABLE) {
+                return Status.UNAVAILABLE.withDescription(throwable.getMessage()).withCause(throwable);
+            }
+        }
+        if (throwable instanceof IllegalArgumentException) {
+            return Status.INVALID_ARGUMENT.withDescription(throwable.getMessage()).withCause(throwable);
+        }
+        return Status.UNKNOWN.withDescription(throwable.toString()).withCause(throwable);
+    }
+}
@@ -0,0 +1,83 @@
+package org.devil.proxy.grpc;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.Context;
+import io.grpc.Contexts;
+import io.grpc.ForwardingClientCall;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import org.devil.proxy.quota.QuotaInvocationInterceptor;
+import org.springframework.util.StringUtils;
+
+import java.util.Locale;
+
+/**
+ * the calling service over grpc,the counterpart of the {@link QuotaInvocationInterceptor#CALLER_HEADER} header.
+ * <p>
+ * callers send it with {@link #client(String)} on their channel,
+ * {@link FeignGrpcServer} puts it in the grpc {@link Context} of every call for the quotas
+ * <pre>
+ *     ManagedChannel channel = ManagedChannelBuilder.forAddress(host, port)
+ *             .intercept(GrpcCallers.client(applicationName))
+ *             .build();
+ * </pre>
+ *
+ * @author yaojun
+ * 2026/10/23 14:10
+ */
+public final class GrpcCallers {
+
+    public final static Metadata.Key<String> CALLER_KEY = Metadata.Key.of(
+            QuotaInvocationInterceptor.CALLER_HEADER.toLowerCase(Locale.ROOT), Metadata.ASCII_STRING_MARSHALLER);
+
+    private final static Context.Key<String> CALLER = Context.key("feignProxyCaller");
+
+    private GrpcCallers() {
+    }
+
+    /**
+     * send {@code caller} with every call of the channel
+     */
+    public static ClientInterceptor client(String caller) {
+        return new ClientInterceptor() {
+            @Override
+            public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(MethodDescriptor<ReqT, RespT> method, CallOptions callOptions, Channel next) {
+                return new ForwardingClientCall.SimpleForwardingClientCall<ReqT, RespT>(next.newCall(method, callOptions)) {
+                    @Override
+                    public void start(Listener<RespT> responseListener, Metadata headers) {
+                        if (StringUtils.hasText(caller) && !headers.containsKey(CALLER_KEY)) {
+                            headers.put(CALLER_KEY, caller);
+                        }
+                        super.start(responseListener, headers);
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * put the caller of every call in its {@link Context},empty when it sent none
+     */
+    public static ServerInterceptor server() {
+        return new ServerInterceptor() {
+            @Override
+            public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers, ServerCallHandler<ReqT, RespT> next) {
+                String caller = headers.get(CALLER_KEY);
+                return Contexts.interceptCall(Context.current().withValue(CALLER, caller == null ? "" : caller), call, headers, next);
+            }
+        };
+    }
+
+    /**
+     * @return caller of the current grpc call,empty when it sent none,null outside a call of {@link FeignGrpcServer}
+     */
+    public static String current() {
+        return CALLER.get();
+    }
+}
@@ -0,0 +1,23 @@
+package org.devil.proxy.grpc;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+
+/**
+ * serialize arguments and results of feign interface methods for the grpc transport.
+ * define a bean of this type to replace the default {@link JacksonGrpcCodec}
+ *
+ * @author yaojun
+ * 2026/10/19 15:10
+ */
+public interface GrpcCodec {
+
+    /**
+     * @param value not null
+     * @param type  declared type of the parameter or result
+     */
+    byte[] encode(Object value, Type type) throws IOException;
+
+    Object decode(InputStream stream, Type type) throws IOException;
+}
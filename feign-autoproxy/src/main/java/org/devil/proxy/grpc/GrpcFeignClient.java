@@ -0,0 +1,175 @@
+package org.devil.proxy.grpc;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ConnectivityState;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ClientCalls;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * client stub implementing the feign client interface over grpc.
+ * <p>
+ * calls go to the grpc channel while it is usable and fall back to the feign client when the channel is
+ * shut down or in transient failure.
+ * a unary call failing with {@code UNAVAILABLE} falls back too,but only when it never reached a transport,
+ * so a call the server may have received is not replayed.
+ * streaming calls fail while they are iterated and do not fall back once started
+ * <pre>
+ *     &#64;Bean
+ *     &#64;Primary
+ *     public TestClient grpcTestClient(TestClient feignClient, ManagedChannel channel) {
+ *         return GrpcFeignClient.create(TestClient.class, channel, feignClient, new JacksonGrpcCodec(objectMapper));
+ *     }
+ * </pre>
+ *
+ * @author yaojun
+ * 2026/10/19 16:12
+ */
+public class GrpcFeignClient implements InvocationHandler {
+
+    private final static Logger logger = LoggerFactory.getLogger(GrpcFeignClient.class);
+
+    private final Class<?> client;
+
+    private final Channel channel;
+
+    private final Object fallback;
+
+    private final CallOptions callOptions;
+
+    private final Map<Method, MethodDescriptor<Object[], Object>> descriptors;
+
+    private GrpcFeignClient(Class<?> client, Channel channel, Object fallback, GrpcCodec codec, CallOptions callOptions) {
+        this.client = client;
+        this.channel = channel;
+        this.fallback = fallback;
+        this.callOptions = callOptions;
+        this.descriptors = GrpcMethods.describe(client, codec);
+    }
+
+    public static <T> T create(Class<T> client, Channel channel, T feignClient, GrpcCodec codec) {
+        return create(client, channel, feignClient, codec, CallOptions.DEFAULT);
+    }
+
+    /**
+     * @param feignClient fallback when grpc is unavailable,may be null
+     */
+    public static <T> T create(Class<T> client, Channel channel, T feignClient, GrpcCodec codec, CallOptions callOptions) {
+        GrpcFeignClient handler = new GrpcFeignClient(client, channel, feignClient, codec, callOptions);
+        return client.cast(Proxy.newProxyInstance(client.getClassLoader(), new Class<?>[]{client}, handler));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (ReflectionUtils.isObjectMethod(method)) {
+            if (ReflectionUtils.isEqualsMethod(method)) {
+                return proxy == args[0];
+            }
+            if (ReflectionUtils.isHashCodeMethod(method)) {
+                return System.identityHashCode(proxy);
+            }
+            return "GrpcFeignClient(" + client.getName() + ")";
+        }
+
+        MethodDescriptor<Object[], Object> descriptor = descriptors.get(method);
+        Object[] arguments = args == null ? new Object[0] : args;
+        if (descriptor != null && isAvailable()) {
+            if (descriptor.getType() == MethodDescriptor.MethodType.SERVER_STREAMING) {
+                return stream(method, descriptor, arguments);
+            }
+            SentTrackingCall call = new SentTrackingCall(channel.newCall(descriptor, callOptions));
+            try {
+                return ClientCalls.blockingUnaryCall(call, arguments);
+            } catch (StatusRuntimeException e) {
+                if (fallback == null || e.getStatus().getCode() != Status.Code.UNAVAILABLE || call.sent) {
+                    throw e;
+                }
+                if (logger.isDebugEnabled()) {
+                    logger.debug("grpc unavailable,{} falls back to feign", descriptor.getFullMethodName());
+                }
+            }
+        }
+
+        if (fallback == null) {
+            throw Status.UNAVAILABLE.withDescription("grpc channel unavailable and no feign client for " + client.getName()).asRuntimeException();
+        }
+        try {
+            return method.invoke(fallback, arguments);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private Object stream(Method method, MethodDescriptor<Object[], Object> descriptor, Object[] arguments) {
+        Iterator<Object> rows = ClientCalls.blockingServerStreamingCall(channel, descriptor, callOptions, arguments);
+        if (method.getReturnType() == Iterator.class) {
+            return rows;
+        }
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(rows, Spliterator.ORDERED), false);
+    }
+
+    private boolean isAvailable() {
+        if (!(channel instanceof ManagedChannel)) {
+            return true;
+        }
+        ManagedChannel managedChannel = (ManagedChannel) channel;
+        if (managedChannel.isShutdown()) {
+            return false;
+        }
+        try {
+            return managedChannel.getState(false) != ConnectivityState.TRANSIENT_FAILURE;
+        } catch (UnsupportedOperationException e) {
+            return true;
+        }
+    }
+
+    /**
+     * unary call remembering whether it reached a transport,its stream got ready or the server answered headers
+     */
+    private static final class SentTrackingCall extends ForwardingClientCall.SimpleForwardingClientCall<Object[], Object> {
+
+        private volatile boolean sent;
+
+        private SentTrackingCall(ClientCall<Object[], Object> delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void start(Listener<Object> responseListener, Metadata headers) {
+            super.start(new ForwardingClientCallListener.SimpleForwardingClientCallListener<Object>(responseListener) {
+                @Override
+                public void onReady() {
+                    sent = true;
+                    super.onReady();
+                }
+
+                @Override
+                public void onHeaders(Metadata headers) {
+                    sent = true;
+                    super.onHeaders(headers);
+                }
+            }, headers);
+        }
+    }
+}
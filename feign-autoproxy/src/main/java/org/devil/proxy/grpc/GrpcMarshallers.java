@@ -0,0 +1,124 @@
+package org.devil.proxy.grpc;
+
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+
+/**
+ * grpc marshallers on top of a {@link GrpcCodec}.
+ * every value is framed as {@code int length + bytes},length -1 is null,
+ * so a request carries all arguments of the method in order
+ *
+ * @author yaojun
+ * 2026/10/19 15:20
+ */
+final class GrpcMarshallers {
+
+    private GrpcMarshallers() {
+    }
+
+    static MethodDescriptor.Marshaller<Object[]> arguments(GrpcCodec codec, Type[] types) {
+        return new ArgumentsMarshaller(codec, types);
+    }
+
+    static MethodDescriptor.Marshaller<Object> value(GrpcCodec codec, Type type) {
+        return new ValueMarshaller(codec, type);
+    }
+
+    private static void write(DataOutputStream out, GrpcCodec codec, Object value, Type type) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = codec.encode(value, type);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static Object read(DataInputStream in, GrpcCodec codec, Type type) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return codec.decode(new ByteArrayInputStream(bytes), type);
+    }
+
+    private static class ArgumentsMarshaller implements MethodDescriptor.Marshaller<Object[]> {
+
+        private final GrpcCodec codec;
+
+        private final Type[] types;
+
+        ArgumentsMarshaller(GrpcCodec codec, Type[] types) {
+            this.codec = codec;
+            this.types = types;
+        }
+
+        @Override
+        public InputStream stream(Object[] arguments) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                for (int i = 0; i < types.length; i++) {
+                    write(out, codec, arguments == null ? null : arguments[i], types[i]);
+                }
+            } catch (IOException e) {
+                throw Status.INTERNAL.withDescription("encode arguments error").withCause(e).asRuntimeException();
+            }
+            return new ByteArrayInputStream(bytes.toByteArray());
+        }
+
+        @Override
+        public Object[] parse(InputStream stream) {
+            Object[] arguments = new Object[types.length];
+            try (DataInputStream in = new DataInputStream(stream)) {
+                for (int i = 0; i < types.length; i++) {
+                    arguments[i] = read(in, codec, types[i]);
+                }
+            } catch (IOException e) {
+                throw Status.INTERNAL.withDescription("decode arguments error").withCause(e).asRuntimeException();
+            }
+            return arguments;
+        }
+    }
+
+    private static class ValueMarshaller implements MethodDescriptor.Marshaller<Object> {
+
+        private final GrpcCodec codec;
+
+        private final Type type;
+
+        ValueMarshaller(GrpcCodec codec, Type type) {
+            this.codec = codec;
+            this.type = type;
+        }
+
+        @Override
+        public InputStream stream(Object value) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                write(out, codec, value, type);
+            } catch (IOException e) {
+                throw Status.INTERNAL.withDescription("encode result error").withCause(e).asRuntimeException();
+            }
+            return new ByteArrayInputStream(bytes.toByteArray());
+        }
+
+        @Override
+        public Object parse(InputStream stream) {
+            try (DataInputStream in = new DataInputStream(stream)) {
+                return read(in, codec, type);
+            } catch (IOException e) {
+                throw Status.INTERNAL.withDescription("decode result error").withCause(e).asRuntimeException();
+            }
+        }
+    }
+}
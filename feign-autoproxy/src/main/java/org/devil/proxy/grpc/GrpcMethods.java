@@ -0,0 +1,72 @@
+package org.devil.proxy.grpc;
+
+import io.grpc.MethodDescriptor;
+import org.devil.proxy.generator.ProxyGenerator;
+import org.springframework.core.ResolvableType;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * derive grpc method descriptors from a feign client interface.
+ * <p>
+ * the service has the methods of the rest proxy,{@link ProxyGenerator#proxiedMethods(Class)}.
+ * it is named after the interface,methods after the java method,overloads get a {@code _n} suffix
+ * in a stable order so server and client always agree.
+ * {@link Stream} and {@link Iterator} methods are server streaming,every other method is unary
+ *
+ * @author yaojun
+ * 2026/10/19 15:32
+ */
+public final class GrpcMethods {
+
+    private GrpcMethods() {
+    }
+
+    public static String serviceName(Class<?> client) {
+        return client.getName();
+    }
+
+    public static Map<Method, MethodDescriptor<Object[], Object>> describe(Class<?> client, GrpcCodec codec) {
+        List<Method> methods = Arrays.stream(ProxyGenerator.proxiedMethods(client))
+                .sorted(Comparator.comparing(Method::getName).thenComparing(Method::toGenericString))
+                .collect(Collectors.toList());
+
+        Map<String, Long> overloads = methods.stream().collect(Collectors.groupingBy(Method::getName, Collectors.counting()));
+        Map<String, Integer> ordinals = new HashMap<>();
+
+        Map<Method, MethodDescriptor<Object[], Object>> descriptors = new LinkedHashMap<>();
+        for (Method method : methods) {
+            String name = method.getName();
+            if (overloads.get(name) > 1) {
+                name = name + "_" + ordinals.merge(name, 1, Integer::sum);
+            }
+
+            boolean streaming = isStreaming(method.getReturnType());
+            Type resultType = streaming
+                    ? ResolvableType.forMethodReturnType(method).getGeneric(0).getType()
+                    : method.getGenericReturnType();
+
+            descriptors.put(method, MethodDescriptor.<Object[], Object>newBuilder()
+                    .setType(streaming ? MethodDescriptor.MethodType.SERVER_STREAMING : MethodDescriptor.MethodType.UNARY)
+                    .setFullMethodName(MethodDescriptor.generateFullMethodName(serviceName(client), name))
+                    .setRequestMarshaller(GrpcMarshallers.arguments(codec, method.getGenericParameterTypes()))
+                    .setResponseMarshaller(GrpcMarshallers.value(codec, resultType))
+                    .build());
+        }
+        return descriptors;
+    }
+
+    static boolean isStreaming(Class<?> returnType) {
+        return returnType == Stream.class || returnType == Iterator.class;
+    }
+}
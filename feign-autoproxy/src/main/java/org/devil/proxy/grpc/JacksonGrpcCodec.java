@@ -0,0 +1,32 @@
+package org.devil.proxy.grpc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+
+/**
+ * json codec,the same representation the rest proxy uses
+ *
+ * @author yaojun
+ * 2026/10/19 15:14
+ */
+public class JacksonGrpcCodec implements GrpcCodec {
+
+    private final ObjectMapper objectMapper;
+
+    public JacksonGrpcCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public byte[] encode(Object value, Type type) throws IOException {
+        return objectMapper.writerFor(objectMapper.constructType(type)).writeValueAsBytes(value);
+    }
+
+    @Override
+    public Object decode(InputStream stream, Type type) throws IOException {
+        return objectMapper.readValue(stream, objectMapper.constructType(type));
+    }
+}
@@ -0,0 +1,21 @@
+package org.devil.proxy.idempotency;
+
+import org.springframework.context.annotation.Bean;
+
+/**
+ * feign client configuration sending idempotency keys
+ * <pre>
+ *     &#64;FeignClient(name = "orders", configuration = IdempotencyFeignConfiguration.class)
+ * </pre>
+ * do not put it in a component scanned package,it would apply to every client
+ *
+ * @author yaojun
+ * 2026/10/20 19:58
+ */
+public class IdempotencyFeignConfiguration {
+
+    @Bean
+    public IdempotencyKeyRequestInterceptor idempotencyKeyRequestInterceptor() {
+        return new IdempotencyKeyRequestInterceptor();
+    }
+}
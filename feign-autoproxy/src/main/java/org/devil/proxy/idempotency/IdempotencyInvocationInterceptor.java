@@ -0,0 +1,153 @@
+package org.devil.proxy.idempotency;
+
+import org.devil.proxy.invoke.ProxyInvocation;
+import org.devil.proxy.invoke.ProxyInvocationInterceptor;
+import org.devil.proxy.invoke.ProxyMethod;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.servlet.http.HttpServletResponse;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * deduplicate calls of {@link Idempotent} methods by the {@link #HEADER} header of the current request.
+ * keys are scoped to the client method,replayed results are marked with the {@link #REPLAYED_HEADER} header
+ * <pre>
+ *     feign.proxy.idempotency.enabled=true
+ *     feign.proxy.idempotency.ttl-seconds=3600       results kept per key
+ *     feign.proxy.idempotency.wait-millis=30000      wait of a duplicate for a running call,409 after
+ *     feign.proxy.idempotency.max-entries=10000      keys of the in memory store
+ * </pre>
+ *
+ * @author yaojun
+ * 2026/10/20 19:40
+ */
+public class IdempotencyInvocationInterceptor implements ProxyInvocationInterceptor {
+
+    public final static String BEAN_NAME = "feignProxyIdempotencyInvocationInterceptor";
+
+    public final static String ENABLED = "feign.proxy.idempotency.enabled";
+
+    public final static String TTL_SECONDS = "feign.proxy.idempotency.ttl-seconds";
+
+    public final static String WAIT_MILLIS = "feign.proxy.idempotency.wait-millis";
+
+    public final static String MAX_ENTRIES = "feign.proxy.idempotency.max-entries";
+
+    public final static String HEADER = "Idempotency-Key";
+
+    public final static String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private final static int MAX_KEY_LENGTH = 256;
+
+    private final static Logger logger = LoggerFactory.getLogger(IdempotencyInvocationInterceptor.class);
+
+    private final IdempotencyStore store;
+
+    private final long ttlMillis;
+
+    private final long waitMillis;
+
+    private final ConcurrentMap<ProxyMethod, Idempotent> methods = new ConcurrentHashMap<>();
+
+    public IdempotencyInvocationInterceptor(ObjectProvider<IdempotencyStore> store, int maxEntries, long ttlSeconds, long waitMillis) {
+        this.store = store.getIfAvailable(() -> new InMemoryIdempotencyStore(maxEntries));
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+        this.waitMillis = waitMillis;
+    }
+
+    @Override
+    public boolean supports(ProxyMethod method) {
+        Idempotent idempotent = AnnotatedElementUtils.findMergedAnnotation(method.getMethod(), Idempotent.class);
+        if (idempotent == null) {
+            return false;
+        }
+        Class<?> returnType = method.getMethod().getReturnType();
+        if (returnType == Stream.class || returnType == Iterator.class) {
+            if (logger.isWarnEnabled()) {
+                logger.warn("{} returns {},@Idempotent ignored", method, returnType.getSimpleName());
+            }
+            return false;
+        }
+        methods.put(method, idempotent);
+        return true;
+    }
+
+    @Override
+    public Object invoke(ProxyInvocation invocation) throws Throwable {
+        Idempotent idempotent = methods.get(invocation.getMethod());
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        ServletRequestAttributes servletAttributes = attributes instanceof ServletRequestAttributes ? (ServletRequestAttributes) attributes : null;
+        String key = servletAttributes == null ? null : servletAttributes.getRequest().getHeader(HEADER);
+        if (!StringUtils.hasText(key)) {
+            if (idempotent.required() && servletAttributes != null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, HEADER + " header is required");
+            }
+            return invocation.proceed();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, HEADER + " header is longer than " + MAX_KEY_LENGTH);
+        }
+
+        String storeKey = invocation.getMethod() + ":" + key;
+        long ttl = idempotent.ttlSeconds() < 0 ? ttlMillis : TimeUnit.SECONDS.toMillis(idempotent.ttlSeconds());
+        for (; ; ) {
+            if (store.claim(storeKey)) {
+                Object result;
+                try {
+                    result = invocation.proceed();
+                } catch (Throwable e) {
+                    store.release(storeKey);
+                    throw e;
+                }
+                store.complete(storeKey, result, ttl);
+                return result;
+            }
+
+            /**
+             * duplicate,null means the first call failed and the key is free again
+             */
+            IdempotentEntry entry;
+            try {
+                entry = store.await(storeKey, waitMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "interrupted waiting for the request with the same " + HEADER, e);
+            }
+            if (entry == null) {
+                continue;
+            }
+            if (!entry.isCompleted()) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "a request with the same " + HEADER + " is in progress");
+            }
+            if (logger.isDebugEnabled()) {
+                logger.debug("{} replayed for {} {}", invocation.getMethod(), HEADER, key);
+            }
+            HttpServletResponse response = servletAttributes.getResponse();
+            if (response != null) {
+                response.setHeader(REPLAYED_HEADER, "true");
+            }
+            return entry.getResult();
+        }
+    }
+
+    /**
+     * inside the flight recorders,a replay is not a call of the implementation
+     */
+    @Override
+    public int getOrder() {
+        return HIGHEST_PRECEDENCE + 200;
+    }
+}
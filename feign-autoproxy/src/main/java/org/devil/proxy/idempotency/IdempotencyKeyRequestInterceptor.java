@@ -0,0 +1,28 @@
+package org.devil.proxy.idempotency;
+
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+
+import java.util.UUID;
+
+/**
+ * feign side of {@link Idempotent}: add a random {@code Idempotency-Key} to every request but GET,HEAD and OPTIONS
+ * without one. feign retries apply the interceptors to the same template again,so every retry of a call sends the
+ * same key. servers ignore it on methods without {@link Idempotent}
+ *
+ * @author yaojun
+ * 2026/10/20 19:55
+ */
+public class IdempotencyKeyRequestInterceptor implements RequestInterceptor {
+
+    @Override
+    public void apply(RequestTemplate template) {
+        String method = template.method();
+        if ("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method)) {
+            return;
+        }
+        if (!template.headers().containsKey(IdempotencyInvocationInterceptor.HEADER)) {
+            template.header(IdempotencyInvocationInterceptor.HEADER, UUID.randomUUID().toString());
+        }
+    }
+}
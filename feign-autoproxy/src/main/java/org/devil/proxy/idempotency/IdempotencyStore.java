@@ -0,0 +1,60 @@
+package org.devil.proxy.idempotency;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * keys and results of {@link Idempotent} calls.
+ * <p>
+ * define a bean of this type to share them between instances,e.g. in redis. shared stores should expire claims
+ * that are never completed or released(a crashed instance) after {@code feign.proxy.idempotency.wait-millis}.
+ * without such a bean {@link InMemoryIdempotencyStore} is used
+ *
+ * @author yaojun
+ * 2026/10/20 19:10
+ */
+public interface IdempotencyStore {
+
+    /**
+     * mark the key in flight if it is unknown
+     *
+     * @return true when the caller owns the key and runs the call
+     */
+    boolean claim(String key);
+
+    /**
+     * @return null when the key is unknown or expired
+     */
+    IdempotentEntry get(String key);
+
+    /**
+     * store the result of the owner of the key
+     */
+    void complete(String key, Object result, long ttlMillis);
+
+    /**
+     * forget a claimed key,the call failed
+     */
+    void release(String key);
+
+    /**
+     * wait until the key is completed or forgotten,polls {@link #get(String)} by default
+     *
+     * @return the entry,still {@link IdempotentEntry#IN_FLIGHT} on timeout,null when the key was forgotten
+     */
+    default IdempotentEntry await(String key, long timeoutMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        long pause = TimeUnit.MILLISECONDS.toNanos(1);
+        for (; ; ) {
+            IdempotentEntry entry = get(key);
+            if (entry == null || entry.isCompleted() || System.nanoTime() >= deadline) {
+                return entry;
+            }
+            LockSupport.parkNanos(Math.min(pause, deadline - System.nanoTime()));
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            pause = Math.min(pause * 2, TimeUnit.MILLISECONDS.toNanos(50));
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package org.devil.proxy.idempotency;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * run the proxied method once per {@code Idempotency-Key} header.
+ * <p>
+ * a duplicate of a running call waits for its result,a duplicate of a completed call gets the stored result
+ * without calling the implementation. failed calls are forgotten,so a retry runs again.
+ * meant for non-GET methods,methods returning {@code Stream}/{@code Iterator} are not supported
+ * <pre>
+ *     &#64;Idempotent
+ *     &#64;PostMapping("/orders")
+ *     Order create(&#64;RequestBody Order order);
+ * </pre>
+ * needs {@code feign.proxy.idempotency.enabled=true}
+ *
+ * @author yaojun
+ * 2026/10/20 19:02
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Idempotent {
+
+    /**
+     * seconds a completed result is kept,{@code feign.proxy.idempotency.ttl-seconds} if negative
+     */
+    long ttlSeconds() default -1;
+
+    /**
+     * reject calls without the header with 400 instead of running them
+     */
+    boolean required() default false;
+}
@@ -0,0 +1,36 @@
+package org.devil.proxy.idempotency;
+
+/**
+ * state of a key in an {@link IdempotencyStore}: in flight or completed with a result
+ *
+ * @author yaojun
+ * 2026/10/20 19:06
+ */
+public final class IdempotentEntry {
+
+    public final static IdempotentEntry IN_FLIGHT = new IdempotentEntry(false, null);
+
+    private final boolean completed;
+
+    private final Object result;
+
+    private IdempotentEntry(boolean completed, Object result) {
+        this.completed = completed;
+        this.result = result;
+    }
+
+    public static IdempotentEntry completed(Object result) {
+        return new IdempotentEntry(true, result);
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    /**
+     * return value of the first call,may be null
+     */
+    public Object getResult() {
+        return result;
+    }
+}
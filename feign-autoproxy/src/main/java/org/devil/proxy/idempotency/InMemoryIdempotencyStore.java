@@ -0,0 +1,181 @@
+package org.devil.proxy.idempotency;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * store of a single instance,bounded by {@code feign.proxy.idempotency.max-entries}.
+ * <p>
+ * waiting duplicates block on the future of the key instead of polling. when full,expired results are swept,at most
+ * once a second,then the completed results closest to expiry are evicted,a sixteenth of the store at a time so a full
+ * store does not scan on every claim. in flight keys are never evicted
+ *
+ * @author yaojun
+ * 2026/10/20 19:20
+ */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final static Logger logger = LoggerFactory.getLogger(InMemoryIdempotencyStore.class);
+
+    private final static long SWEEP_INTERVAL_MILLIS = 1000;
+
+    private final static int EVICTION_FRACTION = 16;
+
+    /**
+     * completes the future of a released key
+     */
+    private final static Object RELEASED = new Object();
+
+    private final int maxEntries;
+
+    private final ConcurrentMap<String, Slot> slots = new ConcurrentHashMap<>();
+
+    private final AtomicLong nextSweep = new AtomicLong();
+
+    public InMemoryIdempotencyStore(int maxEntries) {
+        this.maxEntries = Math.max(1, maxEntries);
+    }
+
+    @Override
+    public boolean claim(String key) {
+        long now = System.currentTimeMillis();
+        if (slots.size() >= maxEntries) {
+            makeRoom(now);
+        }
+        Slot slot = new Slot();
+        for (; ; ) {
+            Slot existing = slots.putIfAbsent(key, slot);
+            if (existing == null) {
+                return true;
+            }
+            if (!existing.isExpired(now)) {
+                return false;
+            }
+            if (slots.replace(key, existing, slot)) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public IdempotentEntry get(String key) {
+        Slot slot = live(key);
+        if (slot == null) {
+            return null;
+        }
+        if (!slot.future.isDone()) {
+            return IdempotentEntry.IN_FLIGHT;
+        }
+        Object result = slot.future.getNow(RELEASED);
+        return result == RELEASED ? null : IdempotentEntry.completed(result);
+    }
+
+    @Override
+    public void complete(String key, Object result, long ttlMillis) {
+        Slot slot = slots.get(key);
+        if (slot != null) {
+            slot.expiresAt = System.currentTimeMillis() + ttlMillis;
+            slot.future.complete(result);
+        }
+    }
+
+    @Override
+    public void release(String key) {
+        Slot slot = slots.remove(key);
+        if (slot != null) {
+            slot.future.complete(RELEASED);
+        }
+    }
+
+    @Override
+    public IdempotentEntry await(String key, long timeoutMillis) throws InterruptedException {
+        Slot slot = live(key);
+        if (slot == null) {
+            return null;
+        }
+        try {
+            Object result = slot.future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            return result == RELEASED ? null : IdempotentEntry.completed(result);
+        } catch (TimeoutException e) {
+            return IdempotentEntry.IN_FLIGHT;
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+
+    public int size() {
+        return slots.size();
+    }
+
+    private Slot live(String key) {
+        Slot slot = slots.get(key);
+        if (slot != null && slot.isExpired(System.currentTimeMillis())) {
+            slots.remove(key, slot);
+            return null;
+        }
+        return slot;
+    }
+
+    private void makeRoom(long now) {
+        long sweep = nextSweep.get();
+        if (now >= sweep && nextSweep.compareAndSet(sweep, now + SWEEP_INTERVAL_MILLIS)) {
+            slots.entrySet().removeIf(entry -> entry.getValue().isExpired(now));
+        }
+        int excess = slots.size() - maxEntries + 1;
+        if (excess <= 0) {
+            return;
+        }
+        int batch = Math.max(excess, maxEntries / EVICTION_FRACTION);
+        /**
+         * the completed slots expiring first,the one expiring last on top
+         */
+        PriorityQueue<Map.Entry<String, Slot>> oldest = new PriorityQueue<>(batch,
+                Comparator.comparingLong((Map.Entry<String, Slot> entry) -> entry.getValue().expiresAt).reversed());
+        for (Map.Entry<String, Slot> entry : slots.entrySet()) {
+            Slot slot = entry.getValue();
+            if (!slot.future.isDone()) {
+                continue;
+            }
+            if (oldest.size() < batch) {
+                oldest.add(entry);
+            } else if (slot.expiresAt < oldest.peek().getValue().expiresAt) {
+                oldest.poll();
+                oldest.add(entry);
+            }
+        }
+        int evicted = 0;
+        for (Map.Entry<String, Slot> entry : oldest) {
+            if (slots.remove(entry.getKey(), entry.getValue())) {
+                evicted++;
+            }
+        }
+        if (evicted > 0 && logger.isDebugEnabled()) {
+            logger.debug("idempotency store full,{} results evicted", evicted);
+        }
+    }
+
+    private static class Slot {
+
+        private final CompletableFuture<Object> future = new CompletableFuture<>();
+
+        /**
+         * in flight slots do not expire
+         */
+        private volatile long expiresAt = Long.MAX_VALUE;
+
+        private boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
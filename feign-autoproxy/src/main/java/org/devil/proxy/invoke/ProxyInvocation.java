@@ -0,0 +1,58 @@
+package org.devil.proxy.invoke;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * one call of a proxied method,passed along the interceptors of the method
+ *
+ * @author yaojun
+ * 2026/10/20 09:58
+ */
+public final class ProxyInvocation {
+
+    private final ProxyMethod method;
+
+    private final Object target;
+
+    private final Object[] arguments;
+
+    private final ProxyInvocationInterceptor[] interceptors;
+
+    private int index;
+
+    ProxyInvocation(ProxyMethod method, Object target, Object[] arguments, ProxyInvocationInterceptor[] interceptors) {
+        this.method = method;
+        this.target = target;
+        this.arguments = arguments;
+        this.interceptors = interceptors;
+    }
+
+    public ProxyMethod getMethod() {
+        return method;
+    }
+
+    /**
+     * the delegate bean implementing the client
+     */
+    public Object getTarget() {
+        return target;
+    }
+
+    public Object[] getArguments() {
+        return arguments;
+    }
+
+    /**
+     * call the next interceptor,the delegate after the last one
+     */
+    public Object proceed() throws Throwable {
+        if (index < interceptors.length) {
+            return interceptors[index++].invoke(this);
+        }
+        try {
+            return method.getMethod().invoke(target, arguments);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
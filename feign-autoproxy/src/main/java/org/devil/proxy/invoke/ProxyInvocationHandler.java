@@ -0,0 +1,50 @@
+package org.devil.proxy.invoke;
+
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Map;
+
+/**
+ * jdk proxy of the client interface put between a generated proxy and its delegate
+ *
+ * @author yaojun
+ * 2026/10/20 10:05
+ */
+class ProxyInvocationHandler implements InvocationHandler {
+
+    private final static Object[] NO_ARGUMENTS = new Object[0];
+
+    private final Object target;
+
+    private final Map<Method, ProxyMethod> methods;
+
+    private final Map<Method, ProxyInvocationInterceptor[]> interceptors;
+
+    ProxyInvocationHandler(Object target, Map<Method, ProxyMethod> methods, Map<Method, ProxyInvocationInterceptor[]> interceptors) {
+        this.target = target;
+        this.methods = methods;
+        this.interceptors = interceptors;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        ProxyInvocationInterceptor[] chain = interceptors.get(method);
+        if (chain != null) {
+            return new ProxyInvocation(methods.get(method), target, args == null ? NO_ARGUMENTS : args, chain).proceed();
+        }
+        if (ReflectionUtils.isEqualsMethod(method)) {
+            return proxy == args[0];
+        }
+        if (ReflectionUtils.isHashCodeMethod(method)) {
+            return System.identityHashCode(proxy);
+        }
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package org.devil.proxy.invoke;
+
+import org.springframework.core.Ordered;
+
+/**
+ * intercept the calls of a generated proxy to its delegate.
+ * <p>
+ * every bean of this type applies to the methods it {@link #supports(ProxyMethod)},in {@link Ordered} order.
+ * methods no interceptor supports are called directly,without any proxy in between.
+ * orders of the built in interceptors,outermost first:
+ * <pre>
+ *     HIGHEST_PRECEDENCE         jfr
+ *     HIGHEST_PRECEDENCE + 50    server timing
+ *     HIGHEST_PRECEDENCE + 100   slow calls
+ *     HIGHEST_PRECEDENCE + 150   quotas
+ *     HIGHEST_PRECEDENCE + 200   idempotency
+ *     LOWEST_PRECEDENCE          batching
+ * </pre>
+ *
+ * @author yaojun
+ * 2026/10/20 09:52
+ */
+public interface ProxyInvocationInterceptor extends Ordered {
+
+    /**
+     * decided once per method when the proxy is created
+     */
+    default boolean supports(ProxyMethod method) {
+        return true;
+    }
+
+    /**
+     * @return result of {@link ProxyInvocation#proceed()} or a replacement
+     */
+    Object invoke(ProxyInvocation invocation) throws Throwable;
+
+    @Override
+    default int getOrder() {
+        return 0;
+    }
+}
@@ -0,0 +1,140 @@
+package org.devil.proxy.invoke;
+
+import org.devil.proxy.generator.ProxyGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * wrap the delegate of every generated proxy with the {@link ProxyInvocationInterceptor} beans.
+ * the delegate is left untouched when no interceptor supports any method of the client
+ *
+ * @author yaojun
+ * 2026/10/20 10:15
+ */
+public class ProxyInvocationPostProcessor implements BeanPostProcessor, BeanFactoryAware {
+
+    public final static String BEAN_NAME = "feignProxyInvocationPostProcessor";
+
+    /**
+     * bean definition attribute marking generated proxies
+     */
+    public final static String PROXY_ATTRIBUTE = "feignAutoProxy";
+
+    private final static Logger logger = LoggerFactory.getLogger(ProxyInvocationPostProcessor.class);
+
+    private ConfigurableListableBeanFactory beanFactory;
+
+    private volatile List<ProxyInvocationInterceptor> interceptors;
+
+    private final ConcurrentMap<Class<?>, ClientChains> chains = new ConcurrentHashMap<>();
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+        this.beanFactory = (ConfigurableListableBeanFactory) beanFactory;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (!beanFactory.containsBeanDefinition(beanName)
+                || beanFactory.getMergedBeanDefinition(beanName).getAttribute(PROXY_ATTRIBUTE) == null) {
+            return bean;
+        }
+        Field field = ReflectionUtils.findField(bean.getClass(), ProxyGenerator.DELEGATE_FIELD);
+        if (field == null) {
+            return bean;
+        }
+        ReflectionUtils.makeAccessible(field);
+        Object delegate = ReflectionUtils.getField(field, bean);
+        Class<?> client = field.getType();
+        if (delegate == null || !client.isInterface()) {
+            return bean;
+        }
+
+        Object proxy = intercept(client, delegate);
+        if (proxy != delegate) {
+            ReflectionUtils.setField(field, bean, proxy);
+        }
+        return bean;
+    }
+
+    /**
+     * wrap a delegate of the client with the interceptors supporting its methods,
+     * also used for the calls the proxies do not receive over http.
+     * the methods and their chains are resolved once per client and shared by every delegate of it
+     *
+     * @return the delegate itself when no interceptor supports any method
+     */
+    public Object intercept(Class<?> client, Object delegate) {
+        ClientChains clientChains = chains.computeIfAbsent(client, this::resolve);
+        if (clientChains.chains.isEmpty()) {
+            return delegate;
+        }
+        return Proxy.newProxyInstance(client.getClassLoader(), new Class<?>[]{client},
+                new ProxyInvocationHandler(delegate, clientChains.methods, clientChains.chains));
+    }
+
+    private ClientChains resolve(Class<?> client) {
+        Map<Method, ProxyMethod> methods = new HashMap<>();
+        Map<Method, ProxyInvocationInterceptor[]> chains = new HashMap<>();
+        for (Method method : client.getMethods()) {
+            if (Modifier.isStatic(method.getModifiers())) {
+                continue;
+            }
+            ProxyMethod proxyMethod = new ProxyMethod(client, method);
+            List<ProxyInvocationInterceptor> chain = new ArrayList<>();
+            for (ProxyInvocationInterceptor interceptor : getInterceptors()) {
+                if (interceptor.supports(proxyMethod)) {
+                    chain.add(interceptor);
+                }
+            }
+            if (!chain.isEmpty()) {
+                methods.put(method, proxyMethod);
+                chains.put(method, chain.toArray(new ProxyInvocationInterceptor[0]));
+            }
+        }
+        if (logger.isDebugEnabled() && !chains.isEmpty()) {
+            logger.debug("client {} intercepted methods {}", client.getName(), methods.values());
+        }
+        return new ClientChains(methods, chains);
+    }
+
+    private List<ProxyInvocationInterceptor> getInterceptors() {
+        List<ProxyInvocationInterceptor> current = interceptors;
+        if (current == null) {
+            current = new ArrayList<>(beanFactory.getBeansOfType(ProxyInvocationInterceptor.class).values());
+            AnnotationAwareOrderComparator.sort(current);
+            interceptors = current;
+        }
+        return current;
+    }
+
+    private static final class ClientChains {
+
+        private final Map<Method, ProxyMethod> methods;
+
+        private final Map<Method, ProxyInvocationInterceptor[]> chains;
+
+        private ClientChains(Map<Method, ProxyMethod> methods, Map<Method, ProxyInvocationInterceptor[]> chains) {
+            this.methods = methods;
+            this.chains = chains;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package org.devil.proxy.invoke;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * a proxied method of a feign client,resolved once when the proxy is created.
+ * equal by client and method,so the rest proxy and the grpc service of a client share the state interceptors keep per method
+ *
+ * @author yaojun
+ * 2026/10/20 09:40
+ */
+public final class ProxyMethod {
+
+    private final Class<?> client;
+
+    private final Method method;
+
+    private final String name;
+
+    private final String httpMethod;
+
+    private final String path;
+
+    public ProxyMethod(Class<?> client, Method method) {
+        this.client = client;
+        this.method = method;
+        this.name = method.getName() + Arrays.stream(method.getParameterTypes())
+                .map(Class::getSimpleName)
+                .collect(Collectors.joining(",", "(", ")"));
+
+        RequestMapping mapping = AnnotatedElementUtils.findMergedAnnotation(method, RequestMapping.class);
+        this.httpMethod = mapping != null && mapping.method().length > 0 ? mapping.method()[0].name() : "";
+
+        FeignClient feignClient = client.getAnnotation(FeignClient.class);
+        String clientPath = feignClient == null ? "" : feignClient.path();
+        String methodPath = mapping != null && mapping.path().length > 0 ? mapping.path()[0] : "";
+        String joined = ("/" + clientPath + "/" + methodPath).replaceAll("/{2,}", "/");
+        this.path = joined.length() > 1 && joined.endsWith("/") ? joined.substring(0, joined.length() - 1) : joined;
+    }
+
+    public Class<?> getClient() {
+        return client;
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * method name with simple parameter types,e.g. {@code getById(Long)}
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * first http method of the mapping,empty if the mapping accepts any
+     */
+    public String getHttpMethod() {
+        return httpMethod;
+    }
+
+    /**
+     * {@code @FeignClient#path} joined with the first path of the method mapping
+     */
+    public String getPath() {
+        return path;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ProxyMethod)) {
+            return false;
+        }
+        ProxyMethod that = (ProxyMethod) o;
+        return client.equals(that.client) && method.equals(that.method);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * client.hashCode() + method.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return client.getName() + "#" + name;
+    }
+}
@@ -0,0 +1,54 @@
+package org.devil.proxy.jfr;
+
+import org.springframework.util.ClassUtils;
+
+/**
+ * java flight recorder events of the proxies,usable on jdk 11+ and 8u272+.
+ * <p>
+ * nothing here references {@code jdk.jfr} in a signature,the event classes are only loaded when
+ * {@link #isAvailable()},and events are only built while a recording enables them
+ *
+ * @author yaojun
+ * 2026/10/20 18:10
+ */
+public final class JfrEvents {
+
+    private final static boolean AVAILABLE = ClassUtils.isPresent("jdk.jfr.Event", JfrEvents.class.getClassLoader());
+
+    private JfrEvents() {
+    }
+
+    public static boolean isAvailable() {
+        return AVAILABLE;
+    }
+
+    /**
+     * @return the started generation event,null when no recording enables it
+     */
+    public static Object beginGeneration() {
+        if (!AVAILABLE) {
+            return null;
+        }
+        ProxyGenerationEvent event = new ProxyGenerationEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    public static void commitGeneration(Object started, Class<?> client, String generator, int methodCount, int bytecodeSize) {
+        if (started == null) {
+            return;
+        }
+        ProxyGenerationEvent event = (ProxyGenerationEvent) started;
+        event.end();
+        if (event.shouldCommit()) {
+            event.client = client.getName();
+            event.generator = generator;
+            event.methodCount = methodCount;
+            event.bytecodeSize = bytecodeSize;
+            event.commit();
+        }
+    }
+}
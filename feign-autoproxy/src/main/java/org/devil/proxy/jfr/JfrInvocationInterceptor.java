@@ -0,0 +1,73 @@
+package org.devil.proxy.jfr;
+
+import org.devil.proxy.invoke.ProxyInvocation;
+import org.devil.proxy.invoke.ProxyInvocationInterceptor;
+import org.devil.proxy.invoke.ProxyMethod;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * emit {@code org.devil.proxy.ProxyInvocation} events.
+ * calls are sampled with {@code sample-rate},the recording decides about the rest(enabled,threshold)
+ * <pre>
+ *     feign.proxy.jfr.invocations.enabled=true
+ *     feign.proxy.jfr.invocations.sample-rate=1.0
+ *     java -XX:StartFlightRecording=... ,the default threshold of 10 ms is changed in the .jfc settings
+ * </pre>
+ * only registered when {@link JfrEvents#isAvailable()}
+ *
+ * @author yaojun
+ * 2026/10/20 18:16
+ */
+public class JfrInvocationInterceptor implements ProxyInvocationInterceptor {
+
+    public final static String BEAN_NAME = "feignProxyJfrInvocationInterceptor";
+
+    public final static String ENABLED = "feign.proxy.jfr.invocations.enabled";
+
+    public final static String SAMPLE_RATE = "feign.proxy.jfr.invocations.sample-rate";
+
+    private final double sampleRate;
+
+    public JfrInvocationInterceptor(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public Object invoke(ProxyInvocation invocation) throws Throwable {
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return invocation.proceed();
+        }
+        ProxyInvocationEvent event = new ProxyInvocationEvent();
+        if (!event.isEnabled()) {
+            return invocation.proceed();
+        }
+        event.begin();
+        Throwable failure = null;
+        try {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                ProxyMethod method = invocation.getMethod();
+                event.client = method.getClient().getName();
+                event.method = method.getName();
+                event.httpMethod = method.getHttpMethod();
+                event.path = method.getPath();
+                event.error = failure == null ? null : failure.getClass().getName();
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * outermost,the event covers the other interceptors,server timing included
+     */
+    @Override
+    public int getOrder() {
+        return HIGHEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,35 @@
+package org.devil.proxy.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * generation and definition of the proxy class of one client
+ *
+ * @author yaojun
+ * 2026/10/20 18:02
+ */
+@Name("org.devil.proxy.ProxyGeneration")
+@Label("Feign Proxy Generation")
+@Description("generation and definition of the rest controller proxying a feign client")
+@Category({"Feign Proxy"})
+@StackTrace(false)
+class ProxyGenerationEvent extends jdk.jfr.Event {
+
+    @Label("Client")
+    String client;
+
+    @Label("Generator")
+    String generator;
+
+    @Label("Method Count")
+    int methodCount;
+
+    @Label("Bytecode Size")
+    @DataAmount
+    int bytecodeSize;
+}
@@ -0,0 +1,38 @@
+package org.devil.proxy.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * call of a generated proxy to its delegate,committed above the threshold of the recording settings
+ *
+ * @author yaojun
+ * 2026/10/20 18:05
+ */
+@Name("org.devil.proxy.ProxyInvocation")
+@Label("Feign Proxy Invocation")
+@Description("call of a generated feign proxy to the client implementation")
+@Category({"Feign Proxy"})
+@Threshold("10 ms")
+@StackTrace(false)
+class ProxyInvocationEvent extends jdk.jfr.Event {
+
+    @Label("Client")
+    String client;
+
+    @Label("Method")
+    String method;
+
+    @Label("HTTP Method")
+    String httpMethod;
+
+    @Label("Path")
+    String path;
+
+    @Label("Error")
+    String error;
+}
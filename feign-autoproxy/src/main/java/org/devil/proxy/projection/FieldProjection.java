@@ -0,0 +1,29 @@
+package org.devil.proxy.projection;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * fields the caller needs from the response of a feign client method,sent as {@link ProjectionResponseBodyAdvice#HEADER}.
+ * nested fields are separated by {@code .},a field without nested fields selects the whole value.
+ * on the interface it applies to every method without its own projection
+ * <pre>
+ *     &#64;FieldProjection({"id", "name", "address.city"})
+ *     &#64;GetMapping("/users/{id}")
+ *     User user(&#64;PathVariable("id") long id);
+ * </pre>
+ * needs {@link ProjectionFeignConfiguration} on the {@code @FeignClient}
+ *
+ * @author yaojun
+ * 2026/10/20 14:10
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface FieldProjection {
+
+    String[] value();
+}
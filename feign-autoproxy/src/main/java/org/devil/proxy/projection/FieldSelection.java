@@ -0,0 +1,70 @@
+package org.devil.proxy.projection;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import org.springframework.util.StringUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * parsed {@code fields} value,filters the properties of every bean by its path from the root value.
+ * elements of arrays and collections share the path of the array,map keys are selected like properties.
+ * values under a selected leaf are written whole
+ *
+ * @author yaojun
+ * 2026/10/20 14:22
+ */
+class FieldSelection extends SimpleBeanPropertyFilter {
+
+    private final Node root = new Node();
+
+    FieldSelection(String fields) {
+        for (String field : StringUtils.tokenizeToStringArray(fields, ",")) {
+            Node node = root;
+            for (String name : StringUtils.tokenizeToStringArray(field, ".")) {
+                node = node.children.computeIfAbsent(name, key -> new Node());
+            }
+        }
+    }
+
+    boolean isEmpty() {
+        return root.children.isEmpty();
+    }
+
+    @Override
+    public void serializeAsField(Object pojo, JsonGenerator generator, SerializerProvider provider, PropertyWriter writer) throws Exception {
+        Node node = nodeOf(generator.getOutputContext());
+        if (node == null || node.children.isEmpty() || node.children.containsKey(writer.getName())) {
+            writer.serializeAsField(pojo, generator, provider);
+        } else if (!generator.canOmitFields()) {
+            writer.serializeAsOmittedField(pojo, generator, provider);
+        }
+    }
+
+    /**
+     * @return node of the value written in the context,null when the selection does not describe it
+     */
+    private Node nodeOf(JsonStreamContext context) {
+        JsonStreamContext parent = context.getParent();
+        if (parent == null) {
+            return root;
+        }
+        Node node = nodeOf(parent);
+        if (node == null || node.children.isEmpty() || !parent.inObject()) {
+            return node;
+        }
+        return node.children.get(parent.getCurrentName());
+    }
+
+    /**
+     * a node without children selects the whole value
+     */
+    private static class Node {
+
+        private final Map<String, Node> children = new HashMap<>();
+    }
+}
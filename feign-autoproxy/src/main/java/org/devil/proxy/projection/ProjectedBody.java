@@ -0,0 +1,37 @@
+package org.devil.proxy.projection;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+import java.io.IOException;
+
+/**
+ * response body written by the projection writer instead of the writer of the message converter
+ *
+ * @author yaojun
+ * 2026/10/20 14:35
+ */
+class ProjectedBody implements JsonSerializable {
+
+    private final Object value;
+
+    private final ObjectWriter writer;
+
+    ProjectedBody(Object value, ObjectWriter writer) {
+        this.value = value;
+        this.writer = writer;
+    }
+
+    @Override
+    public void serialize(JsonGenerator generator, SerializerProvider provider) throws IOException {
+        writer.writeValue(generator, value);
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator generator, SerializerProvider provider, TypeSerializer typeSerializer) throws IOException {
+        serialize(generator, provider);
+    }
+}
@@ -0,0 +1,32 @@
+package org.devil.proxy.projection;
+
+import feign.Contract;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cloud.openfeign.AnnotatedParameterProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.format.support.FormattingConversionService;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * feign client configuration sending the {@link FieldProjection} of the interface
+ * <pre>
+ *     &#64;FeignClient(name = "users", configuration = ProjectionFeignConfiguration.class)
+ * </pre>
+ * do not put it in a component scanned package,it would apply to every client
+ *
+ * @author yaojun
+ * 2026/10/20 15:12
+ */
+public class ProjectionFeignConfiguration {
+
+    @Autowired(required = false)
+    private List<AnnotatedParameterProcessor> parameterProcessors = new ArrayList<>();
+
+    @Bean
+    public Contract feignContract(@Qualifier("feignConversionService") FormattingConversionService feignConversionService) {
+        return new ProjectionFeignContract(parameterProcessors, feignConversionService);
+    }
+}
@@ -0,0 +1,50 @@
+package org.devil.proxy.projection;
+
+import feign.MethodMetadata;
+import org.springframework.cloud.openfeign.AnnotatedParameterProcessor;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.util.StringUtils;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * spring mvc contract sending {@link FieldProjection} as the {@link ProjectionResponseBodyAdvice#HEADER} header,
+ * the header is resolved once per method with the rest of the metadata
+ *
+ * @author yaojun
+ * 2026/10/20 15:05
+ */
+public class ProjectionFeignContract extends SpringMvcContract {
+
+    public ProjectionFeignContract(List<AnnotatedParameterProcessor> parameterProcessors, ConversionService conversionService) {
+        super(parameterProcessors, conversionService);
+    }
+
+    @Override
+    protected void processAnnotationOnClass(MethodMetadata data, Class<?> clz) {
+        super.processAnnotationOnClass(data, clz);
+        FieldProjection projection = clz.getAnnotation(FieldProjection.class);
+        if (projection != null) {
+            project(data, projection);
+        }
+    }
+
+    @Override
+    protected void processAnnotationOnMethod(MethodMetadata data, Annotation methodAnnotation, Method method) {
+        /**
+         * method annotations come after the class,the method projection replaces the class one
+         */
+        if (methodAnnotation instanceof FieldProjection) {
+            project(data, (FieldProjection) methodAnnotation);
+            return;
+        }
+        super.processAnnotationOnMethod(data, methodAnnotation, method);
+    }
+
+    private static void project(MethodMetadata data, FieldProjection projection) {
+        data.template().header(ProjectionResponseBodyAdvice.HEADER, StringUtils.arrayToCommaDelimitedString(projection.value()));
+    }
+}
@@ -0,0 +1,156 @@
+package org.devil.proxy.projection;
+
+import com.fasterxml.jackson.databind.AnnotationIntrospector;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.AnnotatedClass;
+import com.fasterxml.jackson.databind.introspect.NopAnnotationIntrospector;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.devil.proxy.generator.ProxyGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * write only the fields the caller selected from the json bodies of generated proxies.
+ * <p>
+ * the selection is read from the {@link #PARAMETER} query parameter,unless the method binds a parameter of the same
+ * name,then from the {@link #HEADER} header. a writer is built once per selection and cached,up to
+ * {@code feign.proxy.projection.cache-size} selections,its filter works on the serializers jackson already cached
+ * <pre>
+ *     GET /users/1?fields=id,name,address.city
+ * </pre>
+ *
+ * @author yaojun
+ * 2026/10/20 14:40
+ */
+@ControllerAdvice
+@Order(Ordered.LOWEST_PRECEDENCE - 100)
+public class ProjectionResponseBodyAdvice implements ResponseBodyAdvice<Object> {
+
+    public final static String BEAN_NAME = "feignProxyProjectionResponseBodyAdvice";
+
+    public final static String ENABLED = "feign.proxy.projection.enabled";
+
+    public final static String CACHE_SIZE = "feign.proxy.projection.cache-size";
+
+    public final static String PARAMETER = "fields";
+
+    public final static String HEADER = "X-Fields";
+
+    private final static String FILTER_ID = "feignProxyProjection";
+
+    private final static Logger logger = LoggerFactory.getLogger(ProjectionResponseBodyAdvice.class);
+
+    private final ObjectMapper objectMapper;
+
+    private final int cacheSize;
+
+    private final ConcurrentMap<String, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Method, Boolean> parameterMethods = new ConcurrentHashMap<>();
+
+    public ProjectionResponseBodyAdvice(ObjectProvider<ObjectMapper> objectMapper, int cacheSize) {
+        /**
+         * copy of the application mapper filtering every bean without its own @JsonFilter
+         */
+        ObjectMapper mapper = objectMapper.getIfUnique(ObjectMapper::new).copy();
+        mapper.setAnnotationIntrospector(AnnotationIntrospector.pair(mapper.getSerializationConfig().getAnnotationIntrospector(),
+                new ProjectionIntrospector()));
+        this.objectMapper = mapper;
+        this.cacheSize = cacheSize;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return MappingJackson2HttpMessageConverter.class.isAssignableFrom(converterType)
+                && returnType.getContainingClass().getName().endsWith(ProxyGenerator.PROXY_SUFFIX);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body == null) {
+            return null;
+        }
+        String fields = null;
+        if (request instanceof ServletServerHttpRequest && !bindsParameter(returnType)) {
+            fields = ((ServletServerHttpRequest) request).getServletRequest().getParameter(PARAMETER);
+        }
+        if (!StringUtils.hasText(fields)) {
+            fields = request.getHeaders().getFirst(HEADER);
+        }
+        if (!StringUtils.hasText(fields)) {
+            return body;
+        }
+        ObjectWriter writer = getWriter(fields.trim());
+        return writer == null ? body : new ProjectedBody(body, writer);
+    }
+
+    private ObjectWriter getWriter(String fields) {
+        ObjectWriter writer = writers.get(fields);
+        if (writer != null) {
+            return writer;
+        }
+        FieldSelection selection = new FieldSelection(fields);
+        if (selection.isEmpty()) {
+            return null;
+        }
+        writer = objectMapper.writer(new SimpleFilterProvider().addFilter(FILTER_ID, selection).setFailOnUnknownId(false));
+        if (writers.size() < cacheSize) {
+            writers.putIfAbsent(fields, writer);
+        } else if (logger.isDebugEnabled()) {
+            logger.debug("projection cache full,fields {} not cached", fields);
+        }
+        return writer;
+    }
+
+    /**
+     * the method itself takes a {@code fields} request parameter
+     */
+    private boolean bindsParameter(MethodParameter returnType) {
+        Method method = returnType.getMethod();
+        if (method == null) {
+            return false;
+        }
+        return parameterMethods.computeIfAbsent(method, key -> {
+            for (int i = 0; i < key.getParameterCount(); i++) {
+                RequestParam requestParam = new MethodParameter(key, i).getParameterAnnotation(RequestParam.class);
+                if (requestParam != null && (PARAMETER.equals(requestParam.name()) || PARAMETER.equals(requestParam.value()))) {
+                    return true;
+                }
+            }
+            return false;
+        });
+    }
+
+    /**
+     * same filter id for every class,classes with their own @JsonFilter keep it and are not filtered
+     */
+    private static class ProjectionIntrospector extends NopAnnotationIntrospector {
+
+        @Override
+        public Object findFilterId(Annotated annotated) {
+            return annotated instanceof AnnotatedClass ? FILTER_ID : null;
+        }
+    }
+}
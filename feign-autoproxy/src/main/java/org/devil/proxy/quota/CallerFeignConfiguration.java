@@ -0,0 +1,22 @@
+package org.devil.proxy.quota;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * feign client configuration identifying the calling service,for every client with
+ * <pre>
+ *     &#64;EnableFeignClients(defaultConfiguration = CallerFeignConfiguration.class)
+ * </pre>
+ * do not put it in a component scanned package
+ *
+ * @author yaojun
+ * 2026/10/21 11:33
+ */
+public class CallerFeignConfiguration {
+
+    @Bean
+    public CallerRequestInterceptor callerRequestInterceptor(Environment environment) {
+        return new CallerRequestInterceptor(environment.getProperty("spring.application.name"));
+    }
+}
@@ -0,0 +1,27 @@
+package org.devil.proxy.quota;
+
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+import org.springframework.util.StringUtils;
+
+/**
+ * feign side of the quotas: send {@code spring.application.name} as {@link QuotaInvocationInterceptor#CALLER_HEADER}
+ *
+ * @author yaojun
+ * 2026/10/21 11:30
+ */
+public class CallerRequestInterceptor implements RequestInterceptor {
+
+    private final String caller;
+
+    public CallerRequestInterceptor(String caller) {
+        this.caller = caller;
+    }
+
+    @Override
+    public void apply(RequestTemplate template) {
+        if (StringUtils.hasText(caller) && !template.headers().containsKey(QuotaInvocationInterceptor.CALLER_HEADER)) {
+            template.header(QuotaInvocationInterceptor.CALLER_HEADER, caller);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package org.devil.proxy.quota;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * {@code /actuator/feignquotas} and {@code /actuator/feignquotas/{caller}}: limits,in flight,accepted and rejected calls
+ *
+ * @author yaojun
+ * 2026/10/21 11:25
+ */
+@Endpoint(id = "feignquotas")
+public class QuotaEndpoint {
+
+    public final static String BEAN_NAME = "feignProxyQuotaEndpoint";
+
+    private final QuotaInvocationInterceptor interceptor;
+
+    public QuotaEndpoint(QuotaInvocationInterceptor interceptor) {
+        this.interceptor = interceptor;
+    }
+
+    @ReadOperation
+    public Map<String, Map<String, QuotaState>> quotas() {
+        return interceptor.snapshot();
+    }
+
+    @ReadOperation
+    public Map<String, QuotaState> callerQuotas(@Selector String caller) {
+        return interceptor.snapshot().getOrDefault(caller, Collections.emptyMap());
+    }
+}
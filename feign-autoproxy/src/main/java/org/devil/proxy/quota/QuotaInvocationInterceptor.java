@@ -0,0 +1,231 @@
+package org.devil.proxy.quota;
+
+import org.devil.proxy.grpc.GrpcCallers;
+import org.devil.proxy.invoke.ProxyInvocation;
+import org.devil.proxy.invoke.ProxyInvocationInterceptor;
+import org.devil.proxy.invoke.ProxyMethod;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.servlet.http.HttpServletResponse;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * rate and concurrency quotas per calling service and method,rejected calls get 429.
+ * <p>
+ * the caller is the {@link #CALLER_HEADER} header,set by {@link CallerRequestInterceptor} on the feign side,
+ * or over grpc the same metadata key sent with {@link org.devil.proxy.grpc.GrpcCallers#client(String)}.
+ * limits are {@link QuotaLimits},re-read when an {@link EnvironmentChangeEvent} touches {@code feign.proxy.quota.*},
+ * e.g. after {@code /actuator/refresh}. counters survive the reload.
+ * a call takes its concurrency slot before its rate token,so a call rejected for concurrency keeps the token.
+ * the slot of a {@link Stream} result is freed when the stream is closed after its rows are written,
+ * of a {@link CompletionStage} when it completes
+ * <pre>
+ *     feign.proxy.quota.enabled=true
+ *     feign.proxy.quota.max-callers=1000                  further callers share the "other" counters
+ *     feign.proxy.quota.default.concurrency=50
+ *     feign.proxy.quota.callers.order-service.rate=200
+ *     feign.proxy.quota.callers.order-service.methods.getById.rate=1000
+ * </pre>
+ *
+ * @author yaojun
+ * 2026/10/21 11:10
+ */
+public class QuotaInvocationInterceptor implements ProxyInvocationInterceptor, EnvironmentAware,
+        ApplicationListener<EnvironmentChangeEvent> {
+
+    public final static String BEAN_NAME = "feignProxyQuotaInvocationInterceptor";
+
+    public final static String ENABLED = QuotaLimits.PREFIX + "enabled";
+
+    public final static String MAX_CALLERS = QuotaLimits.PREFIX + "max-callers";
+
+    public final static String CALLER_HEADER = "X-Caller-Service";
+
+    public final static String UNKNOWN_CALLER = "unknown";
+
+    public final static String OTHER_CALLER = "other";
+
+    private final static int MAX_CALLER_LENGTH = 64;
+
+    private final static boolean METERS = ClassUtils.isPresent("io.micrometer.core.instrument.Metrics",
+            QuotaInvocationInterceptor.class.getClassLoader());
+
+    private final static boolean GRPC = ClassUtils.isPresent("io.grpc.Context",
+            QuotaInvocationInterceptor.class.getClassLoader());
+
+    private final static Logger logger = LoggerFactory.getLogger(QuotaInvocationInterceptor.class);
+
+    private final ConcurrentMap<String, ConcurrentMap<ProxyMethod, QuotaState>> callers = new ConcurrentHashMap<>();
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private Environment environment;
+
+    private int maxCallers;
+
+    @Override
+    public void setEnvironment(@NonNull Environment environment) {
+        this.environment = environment;
+        this.maxCallers = environment.getProperty(MAX_CALLERS, Integer.class, 1000);
+    }
+
+    @Override
+    public void onApplicationEvent(@NonNull EnvironmentChangeEvent event) {
+        for (String key : event.getKeys()) {
+            if (key.startsWith(QuotaLimits.PREFIX)) {
+                generation.incrementAndGet();
+                if (logger.isInfoEnabled()) {
+                    logger.info("feign proxy quotas reloaded");
+                }
+                return;
+            }
+        }
+    }
+
+    @Override
+    public Object invoke(ProxyInvocation invocation) throws Throwable {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        ServletRequestAttributes servletAttributes = attributes instanceof ServletRequestAttributes
+                ? (ServletRequestAttributes) attributes : null;
+        String header = servletAttributes != null ? servletAttributes.getRequest().getHeader(CALLER_HEADER) : grpcCaller();
+        if (servletAttributes == null && header == null) {
+            /**
+             * neither a http nor a grpc call,e.g. the client called in process
+             */
+            return invocation.proceed();
+        }
+        String caller = caller(header);
+        ProxyMethod method = invocation.getMethod();
+        QuotaState state = state(caller, method);
+        QuotaLimits limits = limits(state, caller, method);
+
+        if (!state.enter(limits)) {
+            state.concurrencyRejected();
+            throw reject(servletAttributes, caller, method, "concurrency", 0);
+        }
+        long wait = state.acquire(limits, System.nanoTime());
+        if (wait > 0) {
+            state.exit();
+            state.rateRejected();
+            throw reject(servletAttributes, caller, method, "rate", wait);
+        }
+        state.accepted();
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable e) {
+            state.exit();
+            throw e;
+        }
+        return exitOnCompletion(result, state);
+    }
+
+    /**
+     * keep the concurrency slot while a {@link Stream} is written or a {@link CompletionStage} runs,
+     * other results(an {@link java.util.Iterator},any other async type) free it when the delegate returns
+     */
+    private static Object exitOnCompletion(Object result, QuotaState state) {
+        if (result instanceof Stream) {
+            return ((Stream<?>) result).onClose(state::exit);
+        }
+        if (result instanceof CompletionStage) {
+            ((CompletionStage<?>) result).whenComplete((value, failure) -> state.exit());
+            return result;
+        }
+        state.exit();
+        return result;
+    }
+
+    /**
+     * outside the other interceptors but the flight recorders,rejected calls cost nothing else
+     */
+    @Override
+    public int getOrder() {
+        return HIGHEST_PRECEDENCE + 150;
+    }
+
+    /**
+     * caller -&gt; client#method -&gt; counters
+     */
+    public Map<String, Map<String, QuotaState>> snapshot() {
+        Map<String, Map<String, QuotaState>> snapshot = new TreeMap<>();
+        callers.forEach((caller, methods) -> {
+            Map<String, QuotaState> states = new TreeMap<>();
+            methods.forEach((method, state) -> states.put(method.toString(), state));
+            snapshot.put(caller, states);
+        });
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    private static String grpcCaller() {
+        return GRPC ? GrpcCallers.current() : null;
+    }
+
+    private String caller(String header) {
+        if (!StringUtils.hasText(header)) {
+            return UNKNOWN_CALLER;
+        }
+        String caller = header.trim();
+        if (caller.length() > MAX_CALLER_LENGTH) {
+            caller = caller.substring(0, MAX_CALLER_LENGTH);
+        }
+        if (!callers.containsKey(caller) && callers.size() >= maxCallers) {
+            return OTHER_CALLER;
+        }
+        return caller;
+    }
+
+    private QuotaState state(String caller, ProxyMethod method) {
+        return callers.computeIfAbsent(caller, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(method, key -> new QuotaState(resolve(caller, key), generation.get()));
+    }
+
+    private QuotaLimits limits(QuotaState state, String caller, ProxyMethod method) {
+        long current = generation.get();
+        if (state.generation != current) {
+            state.limits = resolve(caller, method);
+            state.generation = current;
+        }
+        return state.limits;
+    }
+
+    private QuotaLimits resolve(String caller, ProxyMethod method) {
+        return QuotaLimits.resolve(environment, caller, method.getMethod().getName());
+    }
+
+    private ResponseStatusException reject(ServletRequestAttributes attributes, String caller, ProxyMethod method, String reason, long waitNanos) {
+        if (METERS) {
+            QuotaMeters.rejected(caller, method, reason);
+        }
+        HttpServletResponse response = attributes == null ? null : attributes.getResponse();
+        if (response != null && waitNanos > 0) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999))));
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("{} rejected for {} by {} quota", method, caller, reason);
+        }
+        return new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, reason + " quota of " + caller + " exceeded");
+    }
+}
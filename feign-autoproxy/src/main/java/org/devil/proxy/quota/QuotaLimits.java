@@ -0,0 +1,76 @@
+package org.devil.proxy.quota;
+
+import org.springframework.core.env.Environment;
+
+/**
+ * limits of one caller on one method,resolved from the most specific property
+ * <pre>
+ *     feign.proxy.quota.callers.{caller}.methods.{method}.rate
+ *     feign.proxy.quota.callers.{caller}.rate
+ *     feign.proxy.quota.methods.{method}.rate
+ *     feign.proxy.quota.default.rate
+ * </pre>
+ * the same for {@code burst} and {@code concurrency}.
+ * {@code rate} is in calls per second,{@code burst} in calls above the rate(the rate by default),0 means unlimited
+ *
+ * @author yaojun
+ * 2026/10/21 10:40
+ */
+public final class QuotaLimits {
+
+    final static String PREFIX = "feign.proxy.quota.";
+
+    private final double rate;
+
+    private final long intervalNanos;
+
+    private final long burst;
+
+    private final int concurrency;
+
+    QuotaLimits(double rate, long burst, int concurrency) {
+        this.rate = rate;
+        this.intervalNanos = rate > 0 ? Math.max(1, (long) (1_000_000_000L / rate)) : 0;
+        this.burst = Math.max(1, burst);
+        this.concurrency = concurrency;
+    }
+
+    static QuotaLimits resolve(Environment environment, String caller, String method) {
+        double rate = property(environment, caller, method, "rate", Double.class, 0.0);
+        long burst = property(environment, caller, method, "burst", Long.class, (long) Math.ceil(rate));
+        int concurrency = property(environment, caller, method, "concurrency", Integer.class, 0);
+        return new QuotaLimits(rate, burst, concurrency);
+    }
+
+    private static <T> T property(Environment environment, String caller, String method, String name, Class<T> type, T defaultValue) {
+        String[] keys = {
+                PREFIX + "callers." + caller + ".methods." + method + "." + name,
+                PREFIX + "callers." + caller + "." + name,
+                PREFIX + "methods." + method + "." + name,
+                PREFIX + "default." + name
+        };
+        for (String key : keys) {
+            T value = environment.getProperty(key, type);
+            if (value != null) {
+                return value;
+            }
+        }
+        return defaultValue;
+    }
+
+    public double getRate() {
+        return rate;
+    }
+
+    long getIntervalNanos() {
+        return intervalNanos;
+    }
+
+    public long getBurst() {
+        return burst;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+}
@@ -0,0 +1,24 @@
+package org.devil.proxy.quota;
+
+import io.micrometer.core.instrument.Metrics;
+import org.devil.proxy.invoke.ProxyMethod;
+
+/**
+ * {@code feign.proxy.quota.rejected} counter in the global micrometer registry,only loaded when micrometer is present
+ *
+ * @author yaojun
+ * 2026/10/21 11:02
+ */
+final class QuotaMeters {
+
+    private QuotaMeters() {
+    }
+
+    static void rejected(String caller, ProxyMethod method, String reason) {
+        Metrics.counter("feign.proxy.quota.rejected",
+                "caller", caller,
+                "client", method.getClient().getName(),
+                "method", method.getName(),
+                "reason", reason).increment();
+    }
+}
@@ -0,0 +1,111 @@
+package org.devil.proxy.quota;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * counters of one caller on one method.
+ * <p>
+ * the token bucket is a single theoretical arrival time updated by cas(generic cell rate algorithm),
+ * the concurrency cap a cas bounded counter,statistics are striped {@link LongAdder}s
+ *
+ * @author yaojun
+ * 2026/10/21 10:52
+ */
+public final class QuotaState {
+
+    private final AtomicLong arrival = new AtomicLong(Long.MIN_VALUE);
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final LongAdder accepted = new LongAdder();
+
+    private final LongAdder rateRejected = new LongAdder();
+
+    private final LongAdder concurrencyRejected = new LongAdder();
+
+    volatile QuotaLimits limits;
+
+    volatile long generation;
+
+    QuotaState(QuotaLimits limits, long generation) {
+        this.limits = limits;
+        this.generation = generation;
+    }
+
+    /**
+     * @return 0 when the call is within the rate,otherwise nanos until it would be
+     */
+    long acquire(QuotaLimits limits, long now) {
+        long interval = limits.getIntervalNanos();
+        if (interval == 0) {
+            return 0;
+        }
+        long tolerance = interval * limits.getBurst();
+        for (; ; ) {
+            long current = arrival.get();
+            long next = Math.max(current, now) + interval;
+            long ahead = next - now;
+            if (ahead > tolerance) {
+                return ahead - tolerance;
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    boolean enter(QuotaLimits limits) {
+        int max = limits.getConcurrency();
+        if (max <= 0) {
+            inFlight.incrementAndGet();
+            return true;
+        }
+        for (; ; ) {
+            int current = inFlight.get();
+            if (current >= max) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void exit() {
+        inFlight.decrementAndGet();
+    }
+
+    void accepted() {
+        accepted.increment();
+    }
+
+    void rateRejected() {
+        rateRejected.increment();
+    }
+
+    void concurrencyRejected() {
+        concurrencyRejected.increment();
+    }
+
+    public QuotaLimits getLimits() {
+        return limits;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getAccepted() {
+        return accepted.sum();
+    }
+
+    public long getRateRejected() {
+        return rateRejected.sum();
+    }
+
+    public long getConcurrencyRejected() {
+        return concurrencyRejected.sum();
+    }
+}
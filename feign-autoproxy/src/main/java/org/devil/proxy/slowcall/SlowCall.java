@@ -0,0 +1,68 @@
+package org.devil.proxy.slowcall;
+
+/**
+ * one captured slow invocation
+ *
+ * @author yaojun
+ * 2026/10/20 10:40
+ */
+public final class SlowCall {
+
+    private final String method;
+
+    private final String arguments;
+
+    private final long durationNanos;
+
+    private final String thread;
+
+    private final String outcome;
+
+    private final long timestamp;
+
+    SlowCall(String method, String arguments, long durationNanos, String thread, String outcome, long timestamp) {
+        this.method = method;
+        this.arguments = arguments;
+        this.durationNanos = durationNanos;
+        this.thread = thread;
+        this.outcome = outcome;
+        this.timestamp = timestamp;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * truncated {@code toString} of the arguments
+     */
+    public String getArguments() {
+        return arguments;
+    }
+
+    public double getDurationMillis() {
+        return durationNanos / 1_000_000.0;
+    }
+
+    long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public String getThread() {
+        return thread;
+    }
+
+    /**
+     * {@code OK} or the class of the thrown exception
+     */
+    public String getOutcome() {
+        return outcome;
+    }
+
+    /**
+     * end of the call,epoch millis
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+}
@@ -0,0 +1,40 @@
+package org.devil.proxy.slowcall;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code /actuator/feignslowcalls} and {@code /actuator/feignslowcalls/{client}}
+ *
+ * @author yaojun
+ * 2026/10/20 11:30
+ */
+@Endpoint(id = "feignslowcalls")
+public class SlowCallEndpoint {
+
+    public final static String BEAN_NAME = "feignProxySlowCallEndpoint";
+
+    private final SlowCallRecorder recorder;
+
+    public SlowCallEndpoint(SlowCallRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @ReadOperation
+    public Map<String, Map<String, List<SlowCall>>> slowCalls() {
+        return recorder.snapshot();
+    }
+
+    /**
+     * @param client class name of the feign client
+     */
+    @ReadOperation
+    public Map<String, List<SlowCall>> clientSlowCalls(@Selector String client) {
+        return recorder.snapshot().getOrDefault(client, Collections.emptyMap());
+    }
+}
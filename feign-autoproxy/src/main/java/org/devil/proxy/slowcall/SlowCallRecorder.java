@@ -0,0 +1,143 @@
+package org.devil.proxy.slowcall;
+
+import org.devil.proxy.invoke.ProxyInvocation;
+import org.devil.proxy.invoke.ProxyInvocationInterceptor;
+import org.devil.proxy.invoke.ProxyMethod;
+
+import java.lang.reflect.Array;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * flight recorder of the slowest proxied calls per client and method.
+ * <p>
+ * every call is timed,calls faster than {@code threshold-millis} stop there.
+ * slower calls are sampled with {@code sample-rate} and only built into a {@link SlowCall}
+ * when they are slower than what the current bucket already holds
+ * <pre>
+ *     feign.proxy.slow-calls.enabled=true
+ *     feign.proxy.slow-calls.size=10              slowest calls kept per method
+ *     feign.proxy.slow-calls.window-seconds=60
+ *     feign.proxy.slow-calls.threshold-millis=10
+ *     feign.proxy.slow-calls.sample-rate=1.0
+ * </pre>
+ *
+ * @author yaojun
+ * 2026/10/20 11:05
+ */
+public class SlowCallRecorder implements ProxyInvocationInterceptor {
+
+    public final static String BEAN_NAME = "feignProxySlowCallRecorder";
+
+    public final static String ENABLED = "feign.proxy.slow-calls.enabled";
+
+    public final static String SIZE = "feign.proxy.slow-calls.size";
+
+    public final static String WINDOW_SECONDS = "feign.proxy.slow-calls.window-seconds";
+
+    public final static String THRESHOLD_MILLIS = "feign.proxy.slow-calls.threshold-millis";
+
+    public final static String SAMPLE_RATE = "feign.proxy.slow-calls.sample-rate";
+
+    private final static int BUCKETS = 6;
+
+    private final static int MAX_ARGUMENT_LENGTH = 64;
+
+    private final static int MAX_ARGUMENTS_LENGTH = 256;
+
+    private final int size;
+
+    private final long bucketMillis;
+
+    private final long thresholdNanos;
+
+    private final double sampleRate;
+
+    private final ConcurrentMap<ProxyMethod, SlowCallWindow> windows = new ConcurrentHashMap<>();
+
+    public SlowCallRecorder(int size, long windowSeconds, long thresholdMillis, double sampleRate) {
+        this.size = Math.max(1, size);
+        this.bucketMillis = Math.max(1, windowSeconds * 1000 / BUCKETS);
+        this.thresholdNanos = thresholdMillis * 1_000_000;
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public Object invoke(ProxyInvocation invocation) throws Throwable {
+        long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            long duration = System.nanoTime() - start;
+            if (duration >= thresholdNanos) {
+                record(invocation, duration, failure);
+            }
+        }
+    }
+
+    /**
+     * measure every other interceptor too
+     */
+    @Override
+    public int getOrder() {
+        return HIGHEST_PRECEDENCE + 100;
+    }
+
+    private void record(ProxyInvocation invocation, long duration, Throwable failure) {
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        SlowCallWindow window = windows.computeIfAbsent(invocation.getMethod(), method -> new SlowCallWindow(size, BUCKETS, bucketMillis));
+        if (!window.admits(duration, now)) {
+            return;
+        }
+        window.offer(new SlowCall(invocation.getMethod().getName(), summarize(invocation.getArguments()), duration,
+                Thread.currentThread().getName(), failure == null ? "OK" : failure.getClass().getName(), now));
+    }
+
+    /**
+     * client name -&gt; {@link ProxyMethod#toString() method} -&gt; slowest calls of the window,slowest first
+     */
+    public Map<String, Map<String, List<SlowCall>>> snapshot() {
+        long now = System.currentTimeMillis();
+        Map<String, Map<String, List<SlowCall>>> snapshot = new TreeMap<>();
+        windows.forEach((method, window) -> {
+            List<SlowCall> calls = window.snapshot(now);
+            if (!calls.isEmpty()) {
+                snapshot.computeIfAbsent(method.getClient().getName(), client -> new TreeMap<>()).put(method.toString(), calls);
+            }
+        });
+        return snapshot;
+    }
+
+    static String summarize(Object[] arguments) {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < arguments.length && builder.length() < MAX_ARGUMENTS_LENGTH; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            Object argument = arguments[i];
+            String value;
+            if (argument != null && argument.getClass().isArray()) {
+                value = argument.getClass().getComponentType().getSimpleName() + "[" + Array.getLength(argument) + "]";
+            } else {
+                value = String.valueOf(argument);
+            }
+            builder.append(value.length() > MAX_ARGUMENT_LENGTH ? value.substring(0, MAX_ARGUMENT_LENGTH) + "..." : value);
+        }
+        if (builder.length() > MAX_ARGUMENTS_LENGTH) {
+            builder.setLength(MAX_ARGUMENTS_LENGTH);
+            builder.append("...");
+        }
+        return builder.append(']').toString();
+    }
+}
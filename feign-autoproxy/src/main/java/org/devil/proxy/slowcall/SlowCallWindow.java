@@ -0,0 +1,129 @@
+package org.devil.proxy.slowcall;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * slowest calls of one method over a sliding window,without locks.
+ * <p>
+ * the window is a ring of buckets,each bucket keeps the slowest {@code size} calls of its time slice.
+ * a bucket publishes the smallest duration it holds once full,so faster calls are rejected with one volatile read.
+ * concurrent offers may occasionally lose an entry,acceptable for forensics
+ *
+ * @author yaojun
+ * 2026/10/20 10:48
+ */
+final class SlowCallWindow {
+
+    private final int size;
+
+    private final long bucketMillis;
+
+    private final AtomicReferenceArray<Bucket> buckets;
+
+    SlowCallWindow(int size, int bucketCount, long bucketMillis) {
+        this.size = size;
+        this.bucketMillis = bucketMillis;
+        this.buckets = new AtomicReferenceArray<>(bucketCount);
+    }
+
+    boolean admits(long durationNanos, long now) {
+        return durationNanos > current(now).floor;
+    }
+
+    void offer(SlowCall call) {
+        Bucket bucket = current(call.getTimestamp());
+        for (;;) {
+            int minIndex = -1;
+            SlowCall min = null;
+            for (int i = 0; i < size; i++) {
+                SlowCall slot = bucket.calls.get(i);
+                if (slot == null) {
+                    if (bucket.calls.compareAndSet(i, null, call)) {
+                        bucket.updateFloor();
+                        return;
+                    }
+                    slot = bucket.calls.get(i);
+                }
+                if (slot != null && (min == null || slot.getDurationNanos() < min.getDurationNanos())) {
+                    min = slot;
+                    minIndex = i;
+                }
+            }
+            if (min == null || call.getDurationNanos() <= min.getDurationNanos()) {
+                return;
+            }
+            if (bucket.calls.compareAndSet(minIndex, min, call)) {
+                bucket.updateFloor();
+                return;
+            }
+        }
+    }
+
+    /**
+     * slowest calls of the buckets still inside the window,slowest first
+     */
+    List<SlowCall> snapshot(long now) {
+        long epoch = now / bucketMillis;
+        List<SlowCall> calls = new ArrayList<>();
+        for (int i = 0; i < buckets.length(); i++) {
+            Bucket bucket = buckets.get(i);
+            if (bucket == null || epoch - bucket.epoch >= buckets.length()) {
+                continue;
+            }
+            for (int j = 0; j < size; j++) {
+                SlowCall call = bucket.calls.get(j);
+                if (call != null) {
+                    calls.add(call);
+                }
+            }
+        }
+        calls.sort(Comparator.comparingLong(SlowCall::getDurationNanos).reversed());
+        return calls.size() > size ? new ArrayList<>(calls.subList(0, size)) : calls;
+    }
+
+    private Bucket current(long now) {
+        long epoch = now / bucketMillis;
+        int index = (int) (epoch % buckets.length());
+        Bucket bucket = buckets.get(index);
+        if (bucket != null && bucket.epoch >= epoch) {
+            return bucket;
+        }
+        Bucket fresh = new Bucket(epoch, size);
+        if (buckets.compareAndSet(index, bucket, fresh)) {
+            return fresh;
+        }
+        return buckets.get(index);
+    }
+
+    private static final class Bucket {
+
+        private final long epoch;
+
+        private final AtomicReferenceArray<SlowCall> calls;
+
+        /**
+         * smallest duration held once the bucket is full,0 before
+         */
+        private volatile long floor;
+
+        Bucket(long epoch, int size) {
+            this.epoch = epoch;
+            this.calls = new AtomicReferenceArray<>(size);
+        }
+
+        void updateFloor() {
+            long min = Long.MAX_VALUE;
+            for (int i = 0; i < calls.length(); i++) {
+                SlowCall call = calls.get(i);
+                if (call == null) {
+                    return;
+                }
+                min = Math.min(min, call.getDurationNanos());
+            }
+            floor = min;
+        }
+    }
+}
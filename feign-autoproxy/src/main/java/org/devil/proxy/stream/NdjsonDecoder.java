@@ -0,0 +1,110 @@
+package org.devil.proxy.stream;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.Response;
+import feign.codec.Decoder;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * feign decoder for {@link Stream} and {@link Iterator} return types.
+ * <p>
+ * newline delimited json responses are parsed lazily row by row,the response is closed when the iterator is
+ * exhausted or the stream is closed.the feign builder must be created with {@code doNotCloseAfterDecode()},
+ * see {@link NdjsonFeignConfiguration}.other responses are decoded as a list by the delegate decoder.
+ *
+ * @author yaojun
+ * 2026/10/19 14:20
+ */
+public class NdjsonDecoder implements Decoder {
+
+    private final Decoder delegate;
+
+    private final ObjectMapper objectMapper;
+
+    public NdjsonDecoder(Decoder delegate, ObjectMapper objectMapper) {
+        this.delegate = delegate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Object decode(Response response, Type type) throws IOException {
+        ResolvableType resolvableType = ResolvableType.forType(type);
+        Class<?> rawType = resolvableType.resolve(Object.class);
+        if (rawType != Stream.class && rawType != Iterator.class) {
+            /**
+             * the builder does not close after decode,other methods close here
+             */
+            try {
+                return delegate.decode(response, type);
+            } finally {
+                response.close();
+            }
+        }
+
+        ResolvableType rowType = resolvableType.getGeneric(0);
+        Iterator<?> rows;
+        if (response.body() == null) {
+            rows = Collections.emptyIterator();
+        } else if (isNdjson(response)) {
+            JavaType javaType = objectMapper.getTypeFactory().constructType(rowType.getType());
+            MappingIterator<Object> iterator = objectMapper.readerFor(javaType).readValues(response.body().asReader());
+            rows = iterator;
+            if (rawType == Stream.class) {
+                return toStream(iterator).onClose(() -> closeQuietly(iterator));
+            }
+        } else {
+            /**
+             * plain json array,e.g. the provider is not proxied
+             */
+            Type listType = ResolvableType.forClassWithGenerics(List.class, rowType).getType();
+            Object list;
+            try {
+                list = delegate.decode(response, listType);
+            } finally {
+                response.close();
+            }
+            rows = list == null ? Collections.emptyIterator() : ((Collection<?>) list).iterator();
+        }
+        return rawType == Stream.class ? toStream(rows) : rows;
+    }
+
+    private static boolean isNdjson(Response response) {
+        Collection<String> contentTypes = response.headers().get(HttpHeaders.CONTENT_TYPE);
+        if (contentTypes == null) {
+            return false;
+        }
+        for (String contentType : contentTypes) {
+            if (NdjsonResponseWriter.APPLICATION_NDJSON.isCompatibleWith(MediaType.parseMediaType(contentType))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static <T> Stream<T> toStream(Iterator<T> iterator) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false);
+    }
+
+    private static void closeQuietly(MappingIterator<?> iterator) {
+        try {
+            iterator.close();
+        } catch (IOException ignore) {
+            //response is broken already
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package org.devil.proxy.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.Feign;
+import feign.codec.Decoder;
+import feign.optionals.OptionalDecoder;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * feign client configuration for interfaces with {@code Stream<T>} or {@code Iterator<T>} methods
+ * <pre>
+ *     &#64;FeignClient(name = "rows", configuration = NdjsonFeignConfiguration.class)
+ * </pre>
+ * do not put it in a component scanned package,it would apply to every client.
+ * the builder of the client(hystrix included) is kept,only switched to {@code doNotCloseAfterDecode()}
+ *
+ * @author yaojun
+ * 2026/10/19 14:35
+ */
+public class NdjsonFeignConfiguration {
+
+    @Bean
+    public Decoder feignDecoder(ObjectFactory<HttpMessageConverters> messageConverters, ObjectProvider<ObjectMapper> objectMapper) {
+        Decoder springDecoder = new OptionalDecoder(new ResponseEntityDecoder(new SpringDecoder(messageConverters)));
+        return new NdjsonDecoder(springDecoder, objectMapper.getIfUnique(ObjectMapper::new));
+    }
+
+    @Bean
+    public static BeanPostProcessor ndjsonFeignBuilderPostProcessor() {
+        return new NdjsonBuilderPostProcessor();
+    }
+
+    /**
+     * the decoder closes the response when the rows are consumed,
+     * applies to the builders of the client context
+     */
+    private static class NdjsonBuilderPostProcessor implements BeanPostProcessor {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof Feign.Builder) {
+                ((Feign.Builder) bean).doNotCloseAfterDecode();
+            }
+            return bean;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package org.devil.proxy.stream;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * write {@link Stream} or {@link Iterator} results of proxied methods as newline delimited json.
+ * <p>
+ * rows are serialized one by one straight to the servlet output stream and flushed every {@code flushRows} rows,
+ * so a slow reader blocks the writer instead of the rows piling up on the heap
+ *
+ * @author yaojun
+ * 2026/10/19 14:02
+ */
+public class NdjsonResponseWriter {
+
+    public final static String BEAN_NAME = "feignProxyNdjsonResponseWriter";
+
+    public final static String FLUSH_ROWS = "feign.proxy.ndjson.flush-rows";
+
+    public final static MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final ObjectMapper objectMapper;
+
+    private final ObjectWriter objectWriter;
+
+    private final int flushRows;
+
+    public NdjsonResponseWriter(ObjectProvider<ObjectMapper> objectMapper, int flushRows) {
+        this.objectMapper = objectMapper.getIfUnique(ObjectMapper::new);
+        /**
+         * one row per line,flush is controlled by flushRows
+         */
+        this.objectWriter = this.objectMapper.writer()
+                .without(SerializationFeature.INDENT_OUTPUT)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.flushRows = Math.max(1, flushRows);
+    }
+
+    /**
+     * called by generated proxy methods
+     *
+     * @param rows {@link Stream} or {@link Iterator} returned by the delegate
+     */
+    public ResponseEntity<StreamingResponseBody> write(Object rows) {
+        StreamingResponseBody body = outputStream -> {
+            if (rows instanceof Stream) {
+                try (Stream<?> stream = (Stream<?>) rows) {
+                    writeRows(stream.iterator(), outputStream);
+                }
+            } else if (rows instanceof Iterator) {
+                writeRows((Iterator<?>) rows, outputStream);
+            } else {
+                writeRows(Collections.emptyIterator(), outputStream);
+            }
+        };
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+    }
+
+    private void writeRows(Iterator<?> rows, OutputStream outputStream) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+        generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+        generator.setRootValueSeparator(null);
+        try {
+            int pending = 0;
+            while (rows.hasNext()) {
+                objectWriter.writeValue(generator, rows.next());
+                generator.writeRaw('\n');
+                if (++pending == flushRows) {
+                    generator.flush();
+                    pending = 0;
+                }
+            }
+        } finally {
+            generator.close();
+        }
+    }
+}
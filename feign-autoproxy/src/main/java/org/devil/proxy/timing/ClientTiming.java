@@ -0,0 +1,123 @@
+package org.devil.proxy.timing;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * one feign call seen from the client,with the {@link ServerTiming} phases the server reported
+ *
+ * @author yaojun
+ * 2026/10/21 13:40
+ */
+public class ClientTiming {
+
+    private final String client;
+
+    private final String method;
+
+    private final String url;
+
+    private final int status;
+
+    private final long totalNanos;
+
+    private final long headersNanos;
+
+    private final Map<String, Double> serverMillis;
+
+    private final long requestBytes;
+
+    private final long responseBytes;
+
+    public ClientTiming(String client, String method, String url, int status, long totalNanos, long headersNanos,
+                        Map<String, Double> serverMillis, long requestBytes, long responseBytes) {
+        this.client = client;
+        this.method = method;
+        this.url = url;
+        this.status = status;
+        this.totalNanos = totalNanos;
+        this.headersNanos = headersNanos;
+        this.serverMillis = Collections.unmodifiableMap(serverMillis);
+        this.requestBytes = requestBytes;
+        this.responseBytes = responseBytes;
+    }
+
+    public String getClient() {
+        return client;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * from sending the request to the end of the response body
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * from sending the request to the response headers,time to first byte
+     */
+    public long getHeadersNanos() {
+        return headersNanos;
+    }
+
+    /**
+     * phases reported by the server in millis,empty when the server sent no {@code Server-Timing}
+     */
+    public Map<String, Double> getServerMillis() {
+        return serverMillis;
+    }
+
+    /**
+     * sum of the server phases,-1 when the server sent none
+     */
+    public double getServerMillisTotal() {
+        if (serverMillis.isEmpty()) {
+            return -1;
+        }
+        double total = 0;
+        for (Double millis : serverMillis.values()) {
+            total += millis;
+        }
+        return total;
+    }
+
+    /**
+     * client time not spent in the server phases:network including the transfer of the body,connection pool and
+     * the servlet container,-1 when unknown
+     */
+    public double getNetworkMillis() {
+        double server = getServerMillisTotal();
+        return server < 0 ? -1 : Math.max(0, totalNanos / 1_000_000.0 - server);
+    }
+
+    /**
+     * -1 when unknown
+     */
+    public long getRequestBytes() {
+        return requestBytes;
+    }
+
+    /**
+     * -1 when unknown
+     */
+    public long getResponseBytes() {
+        return responseBytes;
+    }
+
+    @Override
+    public String toString() {
+        return client + " " + method + " " + url + " " + status + " total=" + totalNanos / 1_000_000.0 + "ms server=" + serverMillis;
+    }
+}
@@ -0,0 +1,59 @@
+package org.devil.proxy.timing;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * aggregate the {@link ClientTiming}s in the global registry spring boot adds its registry to.
+ * only loaded when micrometer is present
+ * <pre>
+ *     feign.client.timing    phase=total|headers|server|network|bind|delegate|ser
+ *     feign.client.payload   direction=request|response
+ * </pre>
+ *
+ * @author yaojun
+ * 2026/10/21 13:55
+ */
+public class MicrometerServerTimingListener implements ServerTimingListener {
+
+    @Override
+    public void onResponse(ClientTiming timing) {
+        String client = timing.getClient();
+        timer(client, "total").record(timing.getTotalNanos(), TimeUnit.NANOSECONDS);
+        timer(client, "headers").record(timing.getHeadersNanos(), TimeUnit.NANOSECONDS);
+        if (!timing.getServerMillis().isEmpty()) {
+            for (Map.Entry<String, Double> phase : timing.getServerMillis().entrySet()) {
+                record(timer(client, phase.getKey()), phase.getValue());
+            }
+            record(timer(client, "server"), timing.getServerMillisTotal());
+            record(timer(client, "network"), timing.getNetworkMillis());
+        }
+        if (timing.getRequestBytes() >= 0) {
+            payload(client, "request").record(timing.getRequestBytes());
+        }
+        if (timing.getResponseBytes() >= 0) {
+            payload(client, "response").record(timing.getResponseBytes());
+        }
+    }
+
+    private static void record(Timer timer, double millis) {
+        timer.record((long) (millis * 1_000_000), TimeUnit.NANOSECONDS);
+    }
+
+    private static Timer timer(String client, String phase) {
+        return Timer.builder("feign.client.timing")
+                .tags("client", client, "phase", phase)
+                .register(Metrics.globalRegistry);
+    }
+
+    private static DistributionSummary payload(String client, String direction) {
+        return DistributionSummary.builder("feign.client.payload")
+                .baseUnit("bytes")
+                .tags("client", client, "direction", direction)
+                .register(Metrics.globalRegistry);
+    }
+}
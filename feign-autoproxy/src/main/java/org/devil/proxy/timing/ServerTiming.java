@@ -0,0 +1,73 @@
+package org.devil.proxy.timing;
+
+import org.springframework.util.StringUtils;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * {@code Server-Timing} headers of the proxies: {@code bind},{@code delegate} and {@code ser} in millis,
+ * with the body sizes in {@link #REQUEST_BYTES_HEADER} and {@link #RESPONSE_BYTES_HEADER}
+ * <pre>
+ *     Server-Timing: bind;dur=0.214, delegate;dur=12.870, ser;dur=0.391
+ * </pre>
+ *
+ * @author yaojun
+ * 2026/10/21 13:02
+ */
+public final class ServerTiming {
+
+    public final static String HEADER = "Server-Timing";
+
+    public final static String REQUEST_BYTES_HEADER = "X-Request-Bytes";
+
+    public final static String RESPONSE_BYTES_HEADER = "X-Response-Bytes";
+
+    public final static String BIND = "bind";
+
+    public final static String DELEGATE = "delegate";
+
+    public final static String SERIALIZATION = "ser";
+
+    final static String HANDLER_START_ATTRIBUTE = ServerTiming.class.getName() + ".handlerStart";
+
+    final static String DELEGATE_START_ATTRIBUTE = ServerTiming.class.getName() + ".delegateStart";
+
+    final static String DELEGATE_END_ATTRIBUTE = ServerTiming.class.getName() + ".delegateEnd";
+
+    private ServerTiming() {
+    }
+
+    static void append(StringBuilder header, String name, long nanos) {
+        if (header.length() > 0) {
+            header.append(", ");
+        }
+        header.append(name).append(";dur=").append(String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0));
+    }
+
+    /**
+     * @return durations by name in millis,metrics without a valid {@code dur} are skipped
+     */
+    public static Map<String, Double> parse(String header) {
+        Map<String, Double> timings = new LinkedHashMap<>();
+        if (!StringUtils.hasText(header)) {
+            return timings;
+        }
+        for (String metric : StringUtils.tokenizeToStringArray(header, ",")) {
+            String[] parts = StringUtils.tokenizeToStringArray(metric, ";");
+            for (int i = 1; i < parts.length; i++) {
+                if (parts[i].startsWith("dur=")) {
+                    try {
+                        timings.put(parts[0], Double.parseDouble(parts[i].substring(4)));
+                    } catch (NumberFormatException e) {
+                        /**
+                         * not one of ours,ignore
+                         */
+                    }
+                }
+            }
+        }
+        return timings;
+    }
+}
@@ -0,0 +1,219 @@
+package org.devil.proxy.timing;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.CollectionUtils;
+
+import java.io.FilterInputStream;
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * feign client timing every call and handing the {@link ServerTiming} headers to the {@link ServerTimingListener}s.
+ * a call is timed until its body is read to the end or closed,so the transfer of the body counts as network time.
+ * feign closes the response after decoding it,a response returned to the caller undecoded is reported when the caller closes it
+ *
+ * @author yaojun
+ * 2026/10/21 13:48
+ */
+public class ServerTimingClient implements Client {
+
+    private final static Logger logger = LoggerFactory.getLogger(ServerTimingClient.class);
+
+    private final Client delegate;
+
+    private final String client;
+
+    private final List<ServerTimingListener> listeners;
+
+    public ServerTimingClient(Client delegate, String client, List<ServerTimingListener> listeners) {
+        this.delegate = delegate;
+        this.client = client;
+        this.listeners = listeners;
+    }
+
+    public Client getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        long start = System.nanoTime();
+        Response response = delegate.execute(request, options);
+        if (listeners.isEmpty()) {
+            return response;
+        }
+        Recording recording = new Recording(request, response, start, System.nanoTime() - start);
+        if (response.body() == null) {
+            recording.finish();
+            return response;
+        }
+        return response.toBuilder().body(new TimedBody(response.body(), recording)).build();
+    }
+
+    /**
+     * header names of the feign response keep the case the server sent
+     */
+    private static String header(Map<String, Collection<String>> headers, String name) {
+        for (Map.Entry<String, Collection<String>> entry : headers.entrySet()) {
+            if (name.equalsIgnoreCase(entry.getKey()) && !CollectionUtils.isEmpty(entry.getValue())) {
+                return String.join(", ", entry.getValue());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * one call,handed to the listeners once its body is read to the end or closed
+     */
+    private final class Recording {
+
+        private final Request request;
+
+        private final Response response;
+
+        private final long start;
+
+        private final long headersNanos;
+
+        private final AtomicBoolean finished = new AtomicBoolean();
+
+        private Recording(Request request, Response response, long start, long headersNanos) {
+            this.request = request;
+            this.response = response;
+            this.start = start;
+            this.headersNanos = headersNanos;
+        }
+
+        private void finish() {
+            if (!finished.compareAndSet(false, true)) {
+                return;
+            }
+            long totalNanos = System.nanoTime() - start;
+            Map<String, Collection<String>> headers = response.headers();
+            long requestBytes = request.body() == null ? 0 : request.body().length;
+            long responseBytes = -1;
+            String responseBytesHeader = header(headers, ServerTiming.RESPONSE_BYTES_HEADER);
+            if (responseBytesHeader != null) {
+                try {
+                    responseBytes = Long.parseLong(responseBytesHeader.trim());
+                } catch (NumberFormatException e) {
+                    responseBytes = -1;
+                }
+            }
+            if (responseBytes < 0 && response.body() != null && response.body().length() != null) {
+                responseBytes = response.body().length();
+            }
+
+            ClientTiming timing = new ClientTiming(client, request.method(), request.url(), response.status(), totalNanos,
+                    headersNanos, ServerTiming.parse(header(headers, ServerTiming.HEADER)), requestBytes, responseBytes);
+            for (ServerTimingListener listener : listeners) {
+                try {
+                    listener.onResponse(timing);
+                } catch (RuntimeException e) {
+                    if (logger.isWarnEnabled()) {
+                        logger.warn("server timing listener {} failed", listener, e);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * response body finishing the {@link Recording} at the end of its content or when it is closed
+     */
+    private static final class TimedBody implements Response.Body {
+
+        private final Response.Body body;
+
+        private final Recording recording;
+
+        private TimedBody(Response.Body body, Recording recording) {
+            this.body = body;
+            this.recording = recording;
+        }
+
+        @Override
+        public Integer length() {
+            return body.length();
+        }
+
+        @Override
+        public boolean isRepeatable() {
+            return body.isRepeatable();
+        }
+
+        @Override
+        public InputStream asInputStream() throws IOException {
+            return new FilterInputStream(body.asInputStream()) {
+                @Override
+                public int read() throws IOException {
+                    return finishAtEnd(super.read());
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    return finishAtEnd(super.read(b, off, len));
+                }
+
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        recording.finish();
+                    }
+                }
+            };
+        }
+
+        @Override
+        public Reader asReader() throws IOException {
+            return new FilterReader(body.asReader()) {
+                @Override
+                public int read() throws IOException {
+                    return finishAtEnd(super.read());
+                }
+
+                @Override
+                public int read(char[] cbuf, int off, int len) throws IOException {
+                    return finishAtEnd(super.read(cbuf, off, len));
+                }
+
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        recording.finish();
+                    }
+                }
+            };
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                body.close();
+            } finally {
+                recording.finish();
+            }
+        }
+
+        private int finishAtEnd(int read) {
+            if (read < 0) {
+                recording.finish();
+            }
+            return read;
+        }
+    }
+}
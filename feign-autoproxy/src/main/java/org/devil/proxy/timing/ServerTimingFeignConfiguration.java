@@ -0,0 +1,88 @@
+package org.devil.proxy.timing;
+
+import feign.Client;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.netflix.ribbon.SpringClientFactory;
+import org.springframework.cloud.openfeign.ribbon.CachingSpringLoadBalancerFactory;
+import org.springframework.cloud.openfeign.ribbon.LoadBalancerFeignClient;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+import org.springframework.util.ClassUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * feign client configuration reading the {@link ServerTiming} headers of the proxies,
+ * every call is handed to the {@link ServerTimingListener} beans,micrometer meters are added when micrometer is present
+ * <pre>
+ *     &#64;FeignClient(name = "users", configuration = ServerTimingFeignConfiguration.class)
+ * </pre>
+ * the {@link Client} of the application(apache,okhttp,ssl settings included) is decorated,not replaced:
+ * under the ribbon load balancer its delegate is timed,url clients get it unwrapped.
+ * {@link Client.Default} is only used when the application has no client.
+ * do not put it in a component scanned package,it would apply to every client
+ *
+ * @author yaojun
+ * 2026/10/21 14:02
+ */
+public class ServerTimingFeignConfiguration {
+
+    private final static String LOAD_BALANCER_CLIENT_CLASS = "org.springframework.cloud.openfeign.ribbon.LoadBalancerFeignClient";
+
+    private final static String MICROMETER_CLASS = "io.micrometer.core.instrument.Metrics";
+
+    @Bean
+    public Client serverTimingFeignClient(ApplicationContext context, Environment environment,
+                                          ObjectProvider<List<ServerTimingListener>> listeners) {
+        List<ServerTimingListener> all = new ArrayList<>(listeners.getIfAvailable(ArrayList::new));
+        if (ClassUtils.isPresent(MICROMETER_CLASS, null)
+                && all.stream().noneMatch(listener -> listener instanceof MicrometerServerTimingListener)) {
+            all.add(new MicrometerServerTimingListener());
+        }
+        String clientName = environment.getProperty("feign.client.name", "feign");
+
+        Client existing = applicationClient(context.getParent());
+        if (existing != null && ClassUtils.isPresent(LOAD_BALANCER_CLIENT_CLASS, null)) {
+            Client balanced = RibbonClients.wrap(existing, clientName, all, context);
+            if (balanced != null) {
+                return balanced;
+            }
+        }
+        return new ServerTimingClient(existing == null ? new Client.Default(null, null) : existing, clientName, all);
+    }
+
+    /**
+     * the client this configuration hides,looked up in the application context since this one shadows it
+     */
+    private static Client applicationClient(ApplicationContext parent) {
+        if (parent == null || BeanFactoryUtils.beanNamesForTypeIncludingAncestors(parent, Client.class).length == 0) {
+            return null;
+        }
+        /**
+         * fails on several clients without a primary one
+         */
+        return parent.getBean(Client.class);
+    }
+
+    /**
+     * keeps the ribbon types out of the configuration class
+     */
+    private static class RibbonClients {
+
+        /**
+         * @return null when the client is not load balanced
+         */
+        static Client wrap(Client client, String clientName, List<ServerTimingListener> listeners, BeanFactory beanFactory) {
+            if (!(client instanceof LoadBalancerFeignClient)) {
+                return null;
+            }
+            Client timed = new ServerTimingClient(((LoadBalancerFeignClient) client).getDelegate(), clientName, listeners);
+            return new LoadBalancerFeignClient(timed, beanFactory.getBean(CachingSpringLoadBalancerFactory.class),
+                    beanFactory.getBean(SpringClientFactory.class));
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package org.devil.proxy.timing;
+
+import org.devil.proxy.invoke.ProxyInvocation;
+import org.devil.proxy.invoke.ProxyInvocationInterceptor;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * time the call of the delegate,the other interceptors included,for {@link ServerTimingResponseBodyAdvice}
+ *
+ * @author yaojun
+ * 2026/10/21 13:16
+ */
+public class ServerTimingInvocationInterceptor implements ProxyInvocationInterceptor {
+
+    public final static String BEAN_NAME = "feignProxyServerTimingInvocationInterceptor";
+
+    @Override
+    public Object invoke(ProxyInvocation invocation) throws Throwable {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null || attributes.getAttribute(ServerTiming.HANDLER_START_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) == null) {
+            return invocation.proceed();
+        }
+        attributes.setAttribute(ServerTiming.DELEGATE_START_ATTRIBUTE, System.nanoTime(), RequestAttributes.SCOPE_REQUEST);
+        try {
+            return invocation.proceed();
+        } finally {
+            attributes.setAttribute(ServerTiming.DELEGATE_END_ATTRIBUTE, System.nanoTime(), RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    /**
+     * inside the jfr event,outside every other interceptor
+     */
+    @Override
+    public int getOrder() {
+        return HIGHEST_PRECEDENCE + 50;
+    }
+}
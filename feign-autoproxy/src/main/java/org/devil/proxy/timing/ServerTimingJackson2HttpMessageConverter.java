@@ -0,0 +1,80 @@
+package org.devil.proxy.timing;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.lang.Nullable;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+/**
+ * jackson converter of the application,timed on the responses of generated proxies.
+ * <p>
+ * the body is written by the original converter,its mapper,prefix,charset,pretty print and json views included,
+ * into a buffer first,so {@code ser} and {@link ServerTiming#RESPONSE_BYTES_HEADER} are known before the headers are
+ * committed. other responses go straight to the original converter
+ *
+ * @author yaojun
+ * 2026/10/22 09:40
+ */
+class ServerTimingJackson2HttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final MappingJackson2HttpMessageConverter delegate;
+
+    ServerTimingJackson2HttpMessageConverter(MappingJackson2HttpMessageConverter delegate) {
+        super(delegate.getObjectMapper());
+        setSupportedMediaTypes(delegate.getSupportedMediaTypes());
+        setDefaultCharset(delegate.getDefaultCharset());
+        this.delegate = delegate;
+    }
+
+    @Override
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        HttpHeaders headers = outputMessage.getHeaders();
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null || attributes.getAttribute(ServerTiming.HANDLER_START_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) == null) {
+            delegate.write(object, type, headers.getContentType(), outputMessage);
+            return;
+        }
+
+        BufferedOutputMessage buffer = new BufferedOutputMessage();
+        long start = System.nanoTime();
+        delegate.write(object, type, headers.getContentType(), buffer);
+        long serNanos = System.nanoTime() - start;
+
+        /**
+         * bind and delegate were set by the advice
+         */
+        String current = headers.getFirst(ServerTiming.HEADER);
+        StringBuilder header = new StringBuilder(current == null ? "" : current);
+        ServerTiming.append(header, ServerTiming.SERIALIZATION, serNanos);
+        headers.set(ServerTiming.HEADER, header.toString());
+        headers.set(ServerTiming.RESPONSE_BYTES_HEADER, Integer.toString(buffer.body.size()));
+        headers.setContentLength(buffer.body.size());
+        buffer.body.writeTo(outputMessage.getBody());
+    }
+
+    private static class BufferedOutputMessage implements HttpOutputMessage {
+
+        private final HttpHeaders headers = new HttpHeaders();
+
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(1024);
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package org.devil.proxy.timing;
+
+/**
+ * receives the {@link ClientTiming} of every call of the clients using {@link ServerTimingFeignConfiguration},
+ * beans of this type are looked up in the client context,so in the application context as well
+ *
+ * @author yaojun
+ * 2026/10/21 13:44
+ */
+@FunctionalInterface
+public interface ServerTimingListener {
+
+    /**
+     * called on the calling thread,keep it cheap
+     */
+    void onResponse(ClientTiming timing);
+}
@@ -0,0 +1,64 @@
+package org.devil.proxy.timing;
+
+import org.devil.proxy.generator.ProxyGenerator;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * add the {@code bind} and {@code delegate} phases of {@link ServerTiming} and the request size
+ * to the responses of generated proxies,the body is left to the converter.
+ * json bodies get {@code ser} and the response size from {@link ServerTimingJackson2HttpMessageConverter}
+ *
+ * @author yaojun
+ * 2026/10/21 13:25
+ */
+@ControllerAdvice
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class ServerTimingResponseBodyAdvice implements ResponseBodyAdvice<Object> {
+
+    public final static String BEAN_NAME = "feignProxyServerTimingResponseBodyAdvice";
+
+    public final static String ENABLED = "feign.proxy.server-timing.enabled";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return returnType.getContainingClass().getName().endsWith(ProxyGenerator.PROXY_SUFFIX);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest)) {
+            return body;
+        }
+        HttpServletRequest servletRequest = ((ServletServerHttpRequest) request).getServletRequest();
+        Long handlerStart = (Long) servletRequest.getAttribute(ServerTiming.HANDLER_START_ATTRIBUTE);
+        if (handlerStart == null) {
+            return body;
+        }
+        Long delegateStart = (Long) servletRequest.getAttribute(ServerTiming.DELEGATE_START_ATTRIBUTE);
+        Long delegateEnd = (Long) servletRequest.getAttribute(ServerTiming.DELEGATE_END_ATTRIBUTE);
+        if (delegateStart != null && delegateEnd != null) {
+            StringBuilder header = new StringBuilder();
+            ServerTiming.append(header, ServerTiming.BIND, delegateStart - handlerStart);
+            ServerTiming.append(header, ServerTiming.DELEGATE, delegateEnd - delegateStart);
+            response.getHeaders().set(ServerTiming.HEADER, header.toString());
+        }
+        long requestBytes = servletRequest.getContentLengthLong();
+        if (requestBytes >= 0) {
+            response.getHeaders().set(ServerTiming.REQUEST_BYTES_HEADER, Long.toString(requestBytes));
+        }
+        return body;
+    }
+}
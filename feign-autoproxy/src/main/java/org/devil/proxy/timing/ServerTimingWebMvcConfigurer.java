@@ -0,0 +1,51 @@
+package org.devil.proxy.timing;
+
+import org.devil.proxy.generator.ProxyGenerator;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.lang.NonNull;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.List;
+
+/**
+ * mark when a generated proxy is picked as handler,argument binding starts there,
+ * and time the jackson converters by {@link ServerTimingJackson2HttpMessageConverter}
+ *
+ * @author yaojun
+ * 2026/10/21 13:10
+ */
+public class ServerTimingWebMvcConfigurer implements WebMvcConfigurer {
+
+    public final static String BEAN_NAME = "feignProxyServerTimingWebMvcConfigurer";
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptorAdapter() {
+            @Override
+            public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler) {
+                if (handler instanceof HandlerMethod
+                        && ((HandlerMethod) handler).getBeanType().getName().endsWith(ProxyGenerator.PROXY_SUFFIX)) {
+                    request.setAttribute(ServerTiming.HANDLER_START_ATTRIBUTE, System.nanoTime());
+                }
+                return true;
+            }
+        });
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        for (int i = 0; i < converters.size(); i++) {
+            HttpMessageConverter<?> converter = converters.get(i);
+            if (converter instanceof MappingJackson2HttpMessageConverter
+                    && !(converter instanceof ServerTimingJackson2HttpMessageConverter)) {
+                converters.set(i, new ServerTimingJackson2HttpMessageConverter((MappingJackson2HttpMessageConverter) converter));
+            }
+        }
+    }
+}
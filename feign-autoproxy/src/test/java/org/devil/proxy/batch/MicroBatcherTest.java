@@ -0,0 +1,203 @@
+package org.devil.proxy.batch;
+
+import org.junit.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author yaojun
+ * 2026/10/22 12:05
+ */
+public class MicroBatcherTest {
+
+    public static class Users {
+
+        private final List<List<Integer>> batches = Collections.synchronizedList(new ArrayList<>());
+
+        private final CountDownLatch stalled = new CountDownLatch(1);
+
+        public Map<Integer, String> byIds(List<Integer> ids) {
+            batches.add(new ArrayList<>(ids));
+            if (ids.contains(-1)) {
+                throw new IllegalArgumentException("bad id");
+            }
+            Map<Integer, String> users = new LinkedHashMap<>();
+            for (Integer id : ids) {
+                users.put(id, "user" + id);
+            }
+            return users;
+        }
+
+        public Map<Integer, String> stalledByIds(List<Integer> ids) throws InterruptedException {
+            stalled.await(10, TimeUnit.SECONDS);
+            return byIds(ids);
+        }
+
+        public List<String> namesByIds(Set<Integer> ids) {
+            List<String> names = new ArrayList<>();
+            for (Integer id : ids) {
+                names.add("name" + id);
+            }
+            return names;
+        }
+    }
+
+    @Batched(method = "byIds", maxSize = 4, maxWaitMillis = 10_000)
+    public void filledBatch() {
+    }
+
+    @Batched(method = "byIds", maxSize = 100, maxWaitMillis = 5)
+    public void shortWindow() {
+    }
+
+    @Batched(method = "byIds", maxSize = 100, maxWaitMillis = 200)
+    public void sharedWindow() {
+    }
+
+    @Batched(method = "namesByIds", maxSize = 100, maxWaitMillis = 5)
+    public void listResult() {
+    }
+
+    @Batched(method = "stalledByIds", maxSize = 100, maxWaitMillis = 100, timeoutMillis = 100)
+    public void stalledBatch() {
+    }
+
+    private static MicroBatcher batcher(Users users, String annotated, String batchMethod, Class<?> keys) throws Exception {
+        Batched batched = MicroBatcherTest.class.getMethod(annotated).getAnnotation(Batched.class);
+        Method method = Users.class.getMethod(batchMethod, keys);
+        return new MicroBatcher(null, users, method, batched, false);
+    }
+
+    @Test
+    public void leaderDispatchesWhenTheWindowIsOver() throws Throwable {
+        Users users = new Users();
+        MicroBatcher batcher = batcher(users, "shortWindow", "byIds", List.class);
+        assertEquals("user1", batcher.load(1));
+        assertEquals(Collections.singletonList(Collections.singletonList(1)), users.batches);
+    }
+
+    @Test
+    public void fillingCallDispatchesAtOnce() throws Exception {
+        Users users = new Users();
+        MicroBatcher batcher = batcher(users, "filledBatch", "byIds", List.class);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        long start = System.nanoTime();
+        try {
+            List<CompletableFuture<Object>> results = new ArrayList<>();
+            for (int id = 1; id <= 4; id++) {
+                results.add(load(batcher, id, executor));
+            }
+            for (int id = 1; id <= 4; id++) {
+                assertEquals("user" + id, results.get(id - 1).get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertTrue("the full batch must not wait for the 10s window", System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        assertEquals(1, users.batches.size());
+        assertEquals(4, users.batches.get(0).size());
+    }
+
+    @Test
+    public void equalKeysShareOneResult() throws Exception {
+        Users users = new Users();
+        MicroBatcher batcher = batcher(users, "sharedWindow", "byIds", List.class);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            List<CompletableFuture<Object>> results = new ArrayList<>();
+            for (int id : new int[]{1, 1, 2}) {
+                results.add(load(batcher, id, executor));
+            }
+            assertEquals("user1", results.get(0).get(5, TimeUnit.SECONDS));
+            assertEquals("user1", results.get(1).get(5, TimeUnit.SECONDS));
+            assertEquals("user2", results.get(2).get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        for (List<Integer> batch : users.batches) {
+            assertEquals("keys of a batch are distinct", new LinkedHashSet<>(batch).size(), batch.size());
+        }
+    }
+
+    @Test
+    public void failureReachesEveryCallOfTheBatch() throws Exception {
+        Users users = new Users();
+        MicroBatcher batcher = batcher(users, "filledBatch", "byIds", List.class);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<CompletableFuture<Object>> results = new ArrayList<>();
+            for (int id : new int[]{1, 2, 3, -1}) {
+                results.add(load(batcher, id, executor));
+            }
+            for (CompletableFuture<Object> result : results) {
+                try {
+                    result.get(5, TimeUnit.SECONDS);
+                    fail("IllegalArgumentException expected");
+                } catch (ExecutionException e) {
+                    assertTrue(e.getCause() instanceof IllegalArgumentException);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void followerGivesUpOnAStalledBatch() throws Exception {
+        Users users = new Users();
+        MicroBatcher batcher = batcher(users, "stalledBatch", "stalledByIds", List.class);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CompletableFuture<Object> leader = load(batcher, 1, executor);
+            Thread.sleep(20);
+            CompletableFuture<Object> follower = load(batcher, 2, executor);
+            try {
+                follower.get(5, TimeUnit.SECONDS);
+                fail("503 expected");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof ResponseStatusException);
+                assertEquals(503, ((ResponseStatusException) e.getCause()).getStatus().value());
+            }
+            users.stalled.countDown();
+            assertEquals("user1", leader.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void listResultIsMatchedInKeyOrder() throws Throwable {
+        MicroBatcher batcher = batcher(new Users(), "listResult", "namesByIds", Set.class);
+        assertEquals("name7", batcher.load(7));
+    }
+
+    private static CompletableFuture<Object> load(MicroBatcher batcher, int id, ExecutorService executor) {
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                result.complete(batcher.load(id));
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+}
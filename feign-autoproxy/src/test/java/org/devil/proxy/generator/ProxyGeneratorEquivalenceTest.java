@@ -0,0 +1,169 @@
+package org.devil.proxy.generator;
+
+import org.junit.Test;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * the asm and javassist backends generate the same controller for a client
+ *
+ * @author yaojun
+ * 2026/10/23 17:10
+ */
+public class ProxyGeneratorEquivalenceTest {
+
+    public static class User {
+
+        public Long id;
+
+        public String name;
+    }
+
+    @FeignClient(name = "users", path = "/users")
+    public interface UserClient {
+
+        @GetMapping("/{id}")
+        User getById(@PathVariable("id") Long id);
+
+        @GetMapping("/by-name")
+        User getById(@RequestParam(value = "name", required = false, defaultValue = "guest") String name,
+                     @RequestHeader("X-Tenant") int tenant);
+
+        @PostMapping(path = "/", consumes = MediaType.APPLICATION_JSON_VALUE)
+        User create(@RequestBody User user) throws IOException;
+
+        @DeleteMapping("/{id}")
+        void delete(@PathVariable("id") long id);
+
+        @RequestMapping(path = "/count", method = {RequestMethod.GET, RequestMethod.HEAD})
+        int count();
+
+        @GetMapping(path = "/all", produces = "application/x-ndjson")
+        Stream<User> all();
+
+        @GetMapping("/names")
+        Iterator<String> names(@RequestParam("prefix") String prefix);
+    }
+
+    private static Class<?> generate(String generator, Class<?> client) throws Exception {
+        byte[] bytecode = ProxyGenerators.get(generator).generate(client);
+        return new ProxyClassLoader(ProxyGeneratorEquivalenceTest.class.getClassLoader())
+                .define(ProxyGenerator.proxyClassName(client), bytecode);
+    }
+
+    @Test
+    public void asmAndJavassistGenerateTheSameController() throws Exception {
+        Class<?> asm = generate(AsmProxyGenerator.NAME, UserClient.class);
+        Class<?> javassist = generate(JavassistProxyGenerator.NAME, UserClient.class);
+
+        assertEquals(javassist.getModifiers(), asm.getModifiers());
+        assertEquals(annotations(javassist.getAnnotations()), annotations(asm.getAnnotations()));
+
+        Map<String, Field> javassistFields = fields(javassist);
+        Map<String, Field> asmFields = fields(asm);
+        assertEquals(javassistFields.keySet(), asmFields.keySet());
+        for (String name : javassistFields.keySet()) {
+            Field expected = javassistFields.get(name);
+            Field actual = asmFields.get(name);
+            assertEquals(name, expected.getType(), actual.getType());
+            assertEquals(name, annotations(expected.getAnnotations()), annotations(actual.getAnnotations()));
+        }
+
+        Map<String, Method> javassistMethods = methods(javassist);
+        Map<String, Method> asmMethods = methods(asm);
+        assertEquals(methods(ProxyGenerator.proxiedMethods(UserClient.class)).keySet(), javassistMethods.keySet());
+        assertEquals(javassistMethods.keySet(), asmMethods.keySet());
+        for (String signature : javassistMethods.keySet()) {
+            Method expected = javassistMethods.get(signature);
+            Method actual = asmMethods.get(signature);
+            assertEquals(signature, expected.getModifiers(), actual.getModifiers());
+            assertEquals(signature, expected.getGenericReturnType().getTypeName(), actual.getGenericReturnType().getTypeName());
+            assertEquals(signature, new HashSet<>(Arrays.asList(expected.getExceptionTypes())),
+                    new HashSet<>(Arrays.asList(actual.getExceptionTypes())));
+            assertEquals(signature, annotations(expected.getAnnotations()), annotations(actual.getAnnotations()));
+            Annotation[][] expectedParameters = expected.getParameterAnnotations();
+            Annotation[][] actualParameters = actual.getParameterAnnotations();
+            assertEquals(signature, expectedParameters.length, actualParameters.length);
+            for (int i = 0; i < expectedParameters.length; i++) {
+                assertEquals(signature + " parameter " + i, annotations(expectedParameters[i]), annotations(actualParameters[i]));
+            }
+        }
+
+        /**
+         * streaming methods are written as ndjson by both
+         */
+        assertEquals("org.springframework.http.ResponseEntity<org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody>",
+                asmMethods.get("all()").getGenericReturnType().getTypeName());
+        assertEquals(asmMethods.get("all()").getGenericReturnType().getTypeName(),
+                asmMethods.get("names(java.lang.String)").getGenericReturnType().getTypeName());
+    }
+
+    private static Set<Annotation> annotations(Annotation[] annotations) {
+        return new HashSet<>(Arrays.asList(annotations));
+    }
+
+    private static Map<String, Field> fields(Class<?> proxy) {
+        Map<String, Field> fields = new TreeMap<>();
+        for (Field field : proxy.getDeclaredFields()) {
+            fields.put(field.getName(), field);
+        }
+        return fields;
+    }
+
+    private static Map<String, Method> methods(Class<?> proxy) {
+        return methods(proxy.getDeclaredMethods());
+    }
+
+    private static Map<String, Method> methods(Method[] declared) {
+        Map<String, Method> methods = new TreeMap<>();
+        for (Method method : declared) {
+            if (method.isSynthetic()) {
+                continue;
+            }
+            StringBuilder signature = new StringBuilder(method.getName()).append('(');
+            Class<?>[] parameterTypes = method.getParameterTypes();
+            for (int i = 0; i < parameterTypes.length; i++) {
+                signature.append(i > 0 ? "," : "").append(parameterTypes[i].getName());
+            }
+            methods.put(signature.append(')').toString(), method);
+        }
+        return methods;
+    }
+
+    /**
+     * one loader per backend,both proxies have the same name
+     */
+    private static class ProxyClassLoader extends ClassLoader {
+
+        ProxyClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        Class<?> define(String name, byte[] bytecode) {
+            return defineClass(name, bytecode, 0, bytecode.length);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package org.devil.proxy.grpc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link FeignGrpcServices} and {@link GrpcFeignClient} over the in process transport
+ *
+ * @author yaojun
+ * 2026/10/22 10:30
+ */
+public class FeignGrpcInProcessTest {
+
+    public interface GreetingClient {
+
+        String greet(String name);
+
+        String greet(String name, int times);
+
+        Stream<Integer> count(int to);
+    }
+
+    private static class Greetings implements GreetingClient {
+
+        private final String prefix;
+
+        private final AtomicInteger calls = new AtomicInteger();
+
+        Greetings(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public String greet(String name) {
+            calls.incrementAndGet();
+            if ("down".equals(name)) {
+                throw Status.UNAVAILABLE.withDescription("down").asRuntimeException();
+            }
+            if (name.isEmpty()) {
+                throw new IllegalArgumentException("empty name");
+            }
+            return prefix + name;
+        }
+
+        @Override
+        public String greet(String name, int times) {
+            return String.join(",", Collections.nCopies(times, prefix + name));
+        }
+
+        @Override
+        public Stream<Integer> count(int to) {
+            return IntStream.rangeClosed(1, to).boxed();
+        }
+    }
+
+    private final Greetings implementation = new Greetings("grpc ");
+
+    private final GrpcCodec codec = new JacksonGrpcCodec(new ObjectMapper());
+
+    private String name;
+
+    private Server server;
+
+    private ManagedChannel channel;
+
+    @Before
+    public void setUp() throws Exception {
+        name = "feign-grpc-" + UUID.randomUUID();
+        server = InProcessServerBuilder.forName(name).directExecutor()
+                .addService(FeignGrpcServices.bind(GreetingClient.class, implementation, codec))
+                .build().start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+    }
+
+    @After
+    public void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    public void unaryAndOverloadedCalls() {
+        GreetingClient client = GrpcFeignClient.create(GreetingClient.class, channel, new Greetings("http "), codec);
+        assertEquals("grpc a", client.greet("a"));
+        assertEquals("grpc b,grpc b", client.greet("b", 2));
+    }
+
+    @Test
+    public void serverStreaming() {
+        GreetingClient client = GrpcFeignClient.create(GreetingClient.class, channel, null, codec);
+        assertEquals(Arrays.asList(1, 2, 3), client.count(3).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void implementationFailureIsNotFallenBack() {
+        GreetingClient client = GrpcFeignClient.create(GreetingClient.class, channel, new Greetings("http "), codec);
+        try {
+            client.greet("");
+            fail("INVALID_ARGUMENT expected");
+        } catch (StatusRuntimeException e) {
+            assertEquals(Status.Code.INVALID_ARGUMENT, e.getStatus().getCode());
+        }
+    }
+
+    @Test
+    public void fallsBackToFeignWhenChannelIsShutDown() {
+        GreetingClient client = GrpcFeignClient.create(GreetingClient.class, channel, new Greetings("http "), codec);
+        channel.shutdownNow();
+        assertEquals("http a", client.greet("a"));
+    }
+
+    @Test
+    public void fallsBackToFeignWhenServerIsUnavailable() {
+        ManagedChannel unknown = InProcessChannelBuilder.forName(name + "-missing").directExecutor().build();
+        try {
+            GreetingClient client = GrpcFeignClient.create(GreetingClient.class, unknown, new Greetings("http "), codec);
+            assertEquals("http a", client.greet("a"));
+        } finally {
+            unknown.shutdownNow();
+        }
+    }
+
+    @Test
+    public void unavailableCallReceivedByTheServerIsNotReplayed() {
+        Greetings feign = new Greetings("http ");
+        GreetingClient client = GrpcFeignClient.create(GreetingClient.class, channel, feign, codec);
+        try {
+            client.greet("down");
+            fail("UNAVAILABLE expected");
+        } catch (StatusRuntimeException e) {
+            assertEquals(Status.Code.UNAVAILABLE, e.getStatus().getCode());
+        }
+        assertEquals(1, implementation.calls.get());
+        assertEquals(0, feign.calls.get());
+    }
+
+    @Test
+    public void streamingFailureIsNotFallenBack() {
+        ManagedChannel unknown = InProcessChannelBuilder.forName(name + "-missing").directExecutor().build();
+        try {
+            GreetingClient client = GrpcFeignClient.create(GreetingClient.class, unknown, new Greetings("http "), codec);
+            client.count(3).collect(Collectors.toList());
+            fail("UNAVAILABLE expected");
+        } catch (StatusRuntimeException e) {
+            assertEquals(Status.Code.UNAVAILABLE, e.getStatus().getCode());
+        } finally {
+            unknown.shutdownNow();
+        }
+    }
+
+    @Test
+    public void unavailableWithoutFeignClient() {
+        GreetingClient client = GrpcFeignClient.create(GreetingClient.class, channel, null, codec);
+        channel.shutdownNow();
+        try {
+            client.greet("a");
+            fail("UNAVAILABLE expected");
+        } catch (StatusRuntimeException e) {
+            assertEquals(Status.Code.UNAVAILABLE, e.getStatus().getCode());
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.devil.proxy.grpc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.grpc.MethodDescriptor;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author yaojun
+ * 2026/10/23 11:20
+ */
+public class GrpcMethodsTest {
+
+    public interface BaseClient {
+
+        String ping();
+    }
+
+    public interface OrderClient extends BaseClient {
+
+        String find(Long id);
+
+        String find(String code);
+
+        default String describe() {
+            return "orders";
+        }
+
+        static String version() {
+            return "1";
+        }
+    }
+
+    @Test
+    public void describesTheMethodsOfTheRestProxy() {
+        Map<Method, MethodDescriptor<Object[], Object>> descriptors =
+                GrpcMethods.describe(OrderClient.class, new JacksonGrpcCodec(new ObjectMapper()));
+        String service = OrderClient.class.getName();
+        assertEquals(Arrays.asList(service + "/describe", service + "/find_1", service + "/find_2"),
+                descriptors.values().stream().map(MethodDescriptor::getFullMethodName).sorted().collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,88 @@
+package org.devil.proxy.grpc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import org.devil.proxy.invoke.ProxyInvocationPostProcessor;
+import org.devil.proxy.quota.QuotaInvocationInterceptor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * quotas of grpc calls,the caller sent with {@link GrpcCallers}
+ *
+ * @author yaojun
+ * 2026/10/23 14:40
+ */
+public class GrpcQuotaTest {
+
+    public interface EchoClient {
+
+        String echo(String value);
+    }
+
+    private final QuotaInvocationInterceptor quotas = new QuotaInvocationInterceptor();
+
+    private Server server;
+
+    private ManagedChannel channel;
+
+    @Before
+    public void setUp() throws Exception {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("quota",
+                Collections.singletonMap("feign.proxy.quota.callers.order-service.rate", "1")));
+        quotas.setEnvironment(environment);
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton(QuotaInvocationInterceptor.BEAN_NAME, quotas);
+        ProxyInvocationPostProcessor postProcessor = new ProxyInvocationPostProcessor();
+        postProcessor.setBeanFactory(beanFactory);
+        Object delegate = postProcessor.intercept(EchoClient.class, (EchoClient) value -> value);
+
+        String name = "feign-grpc-quota-" + UUID.randomUUID();
+        server = InProcessServerBuilder.forName(name).directExecutor()
+                .addService(ServerInterceptors.intercept(
+                        FeignGrpcServices.bind(EchoClient.class, delegate, new JacksonGrpcCodec(new ObjectMapper())),
+                        GrpcCallers.server()))
+                .build().start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor()
+                .intercept(GrpcCallers.client("order-service"))
+                .build();
+    }
+
+    @After
+    public void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    public void callerOverRateIsExhausted() {
+        EchoClient client = GrpcFeignClient.create(EchoClient.class, channel, null, new JacksonGrpcCodec(new ObjectMapper()));
+        assertEquals("a", client.echo("a"));
+        try {
+            client.echo("b");
+            fail("RESOURCE_EXHAUSTED expected");
+        } catch (StatusRuntimeException e) {
+            assertEquals(Status.Code.RESOURCE_EXHAUSTED, e.getStatus().getCode());
+        }
+        assertTrue(quotas.snapshot().containsKey("order-service"));
+        assertEquals(1, quotas.snapshot().get("order-service").values().iterator().next().getRateRejected());
+    }
+}
@@ -0,0 +1,144 @@
+package org.devil.proxy.idempotency;
+
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author yaojun
+ * 2026/10/22 11:40
+ */
+public class InMemoryIdempotencyStoreTest {
+
+    @Test
+    public void onlyOneClaimWins() throws Exception {
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(100);
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CyclicBarrier barrier = new CyclicBarrier(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+        AtomicInteger owners = new AtomicInteger();
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                try {
+                    barrier.await();
+                    if (store.claim("key")) {
+                        owners.incrementAndGet();
+                    }
+                } catch (Exception e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertEquals(1, owners.get());
+        assertSame(IdempotentEntry.IN_FLIGHT, store.get("key"));
+    }
+
+    @Test
+    public void awaitReturnsTheResultOfTheOwner() throws Exception {
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(100);
+        assertTrue(store.claim("key"));
+        CompletableFuture<IdempotentEntry> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return store.await("key", 10_000);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(20);
+        assertFalse(waiting.isDone());
+
+        store.complete("key", "result", 60_000);
+        IdempotentEntry entry = waiting.get(10, TimeUnit.SECONDS);
+        assertTrue(entry.isCompleted());
+        assertEquals("result", entry.getResult());
+        assertFalse(store.claim("key"));
+    }
+
+    @Test
+    public void awaitTimesOutInFlight() throws Exception {
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(100);
+        assertTrue(store.claim("key"));
+        assertSame(IdempotentEntry.IN_FLIGHT, store.await("key", 10));
+    }
+
+    @Test
+    public void releaseWakesWaitersAndFreesTheKey() throws Exception {
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(100);
+        assertTrue(store.claim("key"));
+        CompletableFuture<IdempotentEntry> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return store.await("key", 10_000);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(20);
+        store.release("key");
+        assertNull(waiting.get(10, TimeUnit.SECONDS));
+        assertNull(store.get("key"));
+        assertTrue(store.claim("key"));
+    }
+
+    @Test
+    public void completedResultsExpire() throws Exception {
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(100);
+        assertTrue(store.claim("key"));
+        store.complete("key", "result", 20);
+        assertTrue(store.get("key").isCompleted());
+        Thread.sleep(50);
+        assertNull(store.get("key"));
+        assertTrue(store.claim("key"));
+    }
+
+    @Test
+    public void fullStoreEvictsCompletedButNotInFlightKeys() {
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(2);
+        assertTrue(store.claim("a"));
+        assertTrue(store.claim("b"));
+        store.complete("b", "b", 60_000);
+
+        assertTrue(store.claim("c"));
+        assertEquals(2, store.size());
+        assertSame(IdempotentEntry.IN_FLIGHT, store.get("a"));
+        assertNull(store.get("b"));
+    }
+
+    @Test
+    public void fullStoreEvictsTheResultsExpiringFirst() {
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(100);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(store.claim("k" + i));
+            store.complete("k" + i, i, 60_000 + i * 1000L);
+        }
+
+        /**
+         * a sixteenth of the store,the six oldest results
+         */
+        assertTrue(store.claim("new"));
+        for (int i = 0; i < 100; i++) {
+            if (i < 6) {
+                assertNull("k" + i, store.get("k" + i));
+            } else {
+                assertEquals("k" + i, i, store.get("k" + i).getResult());
+            }
+        }
+        assertEquals(95, store.size());
+    }
+}
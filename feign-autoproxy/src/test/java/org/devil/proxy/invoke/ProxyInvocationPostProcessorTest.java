@@ -0,0 +1,68 @@
+package org.devil.proxy.invoke;
+
+import org.junit.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * @author yaojun
+ * 2026/10/23 10:05
+ */
+public class ProxyInvocationPostProcessorTest {
+
+    public interface Client {
+
+        String find(Long id);
+    }
+
+    private static class RecordingInterceptor implements ProxyInvocationInterceptor {
+
+        private final AtomicInteger supports = new AtomicInteger();
+
+        private final List<ProxyMethod> methods = new ArrayList<>();
+
+        @Override
+        public boolean supports(ProxyMethod method) {
+            supports.incrementAndGet();
+            return true;
+        }
+
+        @Override
+        public Object invoke(ProxyInvocation invocation) throws Throwable {
+            methods.add(invocation.getMethod());
+            return invocation.proceed();
+        }
+    }
+
+    @Test
+    public void delegatesOfOneClientShareItsMethods() {
+        RecordingInterceptor interceptor = new RecordingInterceptor();
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("recording", interceptor);
+        ProxyInvocationPostProcessor postProcessor = new ProxyInvocationPostProcessor();
+        postProcessor.setBeanFactory(beanFactory);
+
+        Client rest = (Client) postProcessor.intercept(Client.class, id -> "rest");
+        Client grpc = (Client) postProcessor.intercept(Client.class, id -> "grpc");
+        assertEquals("rest", rest.find(1L));
+        assertEquals("grpc", grpc.find(1L));
+
+        assertEquals(1, interceptor.supports.get());
+        assertEquals(2, interceptor.methods.size());
+        assertSame(interceptor.methods.get(0), interceptor.methods.get(1));
+    }
+
+    @Test
+    public void proxyMethodsAreEqualByClientAndMethod() throws NoSuchMethodException {
+        ProxyMethod first = new ProxyMethod(Client.class, Client.class.getMethod("find", Long.class));
+        ProxyMethod second = new ProxyMethod(Client.class, Client.class.getMethod("find", Long.class));
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+    }
+}
@@ -0,0 +1,111 @@
+package org.devil.proxy.projection;
+
+import com.fasterxml.jackson.databind.AnnotationIntrospector;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.AnnotatedClass;
+import com.fasterxml.jackson.databind.introspect.NopAnnotationIntrospector;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author yaojun
+ * 2026/10/22 12:40
+ */
+public class FieldSelectionTest {
+
+    public static class Address {
+
+        public String city = "berlin";
+
+        public String zip = "10115";
+    }
+
+    public static class Tag {
+
+        public String label;
+
+        public String color = "red";
+
+        Tag(String label) {
+            this.label = label;
+        }
+    }
+
+    public static class User {
+
+        public long id = 1;
+
+        public String name = "ann";
+
+        public Address address = new Address();
+
+        public List<Tag> tags = Arrays.asList(new Tag("a"), new Tag("b"));
+
+        public Map<String, Address> places = Collections.singletonMap("home", new Address());
+    }
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private String project(String fields) throws Exception {
+        ObjectMapper filtering = mapper.copy();
+        filtering.setAnnotationIntrospector(AnnotationIntrospector.pair(filtering.getSerializationConfig().getAnnotationIntrospector(),
+                new NopAnnotationIntrospector() {
+                    @Override
+                    public Object findFilterId(Annotated annotated) {
+                        return annotated instanceof AnnotatedClass ? "selection" : null;
+                    }
+                }));
+        return filtering.writer(new SimpleFilterProvider().addFilter("selection", new FieldSelection(fields)))
+                .writeValueAsString(new User());
+    }
+
+    private void assertJson(String expected, String actual) throws Exception {
+        assertEquals(mapper.readTree(expected), mapper.readTree(actual));
+    }
+
+    @Test
+    public void topLevelFields() throws Exception {
+        assertJson("{\"id\":1,\"name\":\"ann\"}", project("id,name"));
+    }
+
+    @Test
+    public void nestedPath() throws Exception {
+        assertJson("{\"id\":1,\"address\":{\"city\":\"berlin\"}}", project("id, address.city"));
+    }
+
+    @Test
+    public void leafSelectsTheWholeValue() throws Exception {
+        assertJson("{\"address\":{\"city\":\"berlin\",\"zip\":\"10115\"}}", project("address"));
+    }
+
+    @Test
+    public void collectionElementsShareThePathOfTheCollection() throws Exception {
+        assertJson("{\"tags\":[{\"label\":\"a\"},{\"label\":\"b\"}]}", project("tags.label"));
+    }
+
+    @Test
+    public void mapKeysAreSelectedLikeProperties() throws Exception {
+        assertJson("{\"places\":{\"home\":{\"city\":\"berlin\",\"zip\":\"10115\"}}}", project("places.home"));
+        assertJson("{\"places\":{\"home\":{\"zip\":\"10115\"}}}", project("places.home.zip"));
+        assertJson("{\"places\":{}}", project("places.work"));
+    }
+
+    @Test
+    public void unknownFieldsAreIgnored() throws Exception {
+        assertJson("{\"id\":1}", project("id,missing"));
+    }
+
+    @Test
+    public void blankSelectionIsEmpty() {
+        assertTrue(new FieldSelection(" , ,").isEmpty());
+    }
+}
@@ -0,0 +1,115 @@
+package org.devil.proxy.quota;
+
+import org.devil.proxy.invoke.ProxyInvocationPostProcessor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.servlet.http.HttpServletRequest;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * @author yaojun
+ * 2026/10/23 15:20
+ */
+public class QuotaInvocationInterceptorTest {
+
+    public interface RowClient {
+
+        Stream<Integer> rows();
+
+        CompletableFuture<String> later();
+    }
+
+    private final QuotaInvocationInterceptor quotas = new QuotaInvocationInterceptor();
+
+    private final CompletableFuture<String> pending = new CompletableFuture<>();
+
+    private RowClient client;
+
+    @Before
+    public void setUp() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("feign.proxy.quota.default.concurrency", "1");
+        properties.put("feign.proxy.quota.default.rate", "1");
+        properties.put("feign.proxy.quota.default.burst", "2");
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("quota", properties));
+        quotas.setEnvironment(environment);
+
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton(QuotaInvocationInterceptor.BEAN_NAME, quotas);
+        ProxyInvocationPostProcessor postProcessor = new ProxyInvocationPostProcessor();
+        postProcessor.setBeanFactory(beanFactory);
+        client = (RowClient) postProcessor.intercept(RowClient.class, new RowClient() {
+            @Override
+            public Stream<Integer> rows() {
+                return Stream.of(1, 2, 3);
+            }
+
+            @Override
+            public CompletableFuture<String> later() {
+                return pending;
+            }
+        });
+
+        HttpServletRequest request = (HttpServletRequest) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{HttpServletRequest.class},
+                (proxy, method, args) -> "getHeader".equals(method.getName()) ? "order-service" : null);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @After
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    private QuotaState state(String method) {
+        return quotas.snapshot().get("order-service").get(RowClient.class.getName() + "#" + method + "()");
+    }
+
+    @Test
+    public void streamHoldsItsSlotUntilClosedAndRejectionKeepsTheRateToken() {
+        Stream<Integer> first = client.rows();
+        assertEquals(1, state("rows").getInFlight());
+        try {
+            client.rows();
+            fail("concurrency rejection expected");
+        } catch (ResponseStatusException e) {
+            assertEquals(429, e.getStatus().value());
+        }
+        assertEquals(1, state("rows").getConcurrencyRejected());
+
+        first.close();
+        assertEquals(0, state("rows").getInFlight());
+        /**
+         * the second token of the burst was not spent by the rejected call
+         */
+        try (Stream<Integer> second = client.rows()) {
+            assertEquals(6, second.mapToInt(Integer::intValue).sum());
+        }
+        assertEquals(0, state("rows").getRateRejected());
+        assertEquals(0, state("rows").getInFlight());
+    }
+
+    @Test
+    public void asyncResultHoldsItsSlotUntilComplete() {
+        client.later();
+        assertEquals(1, state("later").getInFlight());
+        pending.complete("done");
+        assertEquals(0, state("later").getInFlight());
+    }
+}
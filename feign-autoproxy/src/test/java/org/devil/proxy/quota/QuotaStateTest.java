@@ -0,0 +1,149 @@
+package org.devil.proxy.quota;
+
+import org.junit.Test;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author yaojun
+ * 2026/10/22 11:20
+ */
+public class QuotaStateTest {
+
+    private final static long MILLI = 1_000_000L;
+
+    @Test
+    public void rateAllowsBurstThenSpacesCalls() {
+        /**
+         * 10 calls/s,one every 100ms,2 at once
+         */
+        QuotaLimits limits = new QuotaLimits(10, 2, 0);
+        QuotaState state = new QuotaState(limits, 0);
+        long now = 1_000 * MILLI;
+
+        assertEquals(0, state.acquire(limits, now));
+        assertEquals(0, state.acquire(limits, now));
+        assertEquals(100 * MILLI, state.acquire(limits, now));
+
+        assertEquals(0, state.acquire(limits, now + 100 * MILLI));
+        assertTrue(state.acquire(limits, now + 100 * MILLI) > 0);
+
+        /**
+         * idle time does not bank more than the burst
+         */
+        long later = now + 10_000 * MILLI;
+        assertEquals(0, state.acquire(limits, later));
+        assertEquals(0, state.acquire(limits, later));
+        assertTrue(state.acquire(limits, later) > 0);
+    }
+
+    @Test
+    public void noRateIsUnlimited() {
+        QuotaLimits limits = new QuotaLimits(0, 1, 0);
+        QuotaState state = new QuotaState(limits, 0);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(0, state.acquire(limits, 0));
+        }
+    }
+
+    @Test
+    public void concurrentAcquiresNeverExceedTheBurst() throws Exception {
+        QuotaLimits limits = new QuotaLimits(1, 50, 0);
+        QuotaState state = new QuotaState(limits, 0);
+        AtomicInteger admitted = new AtomicInteger();
+        runConcurrently(16, 1_000, () -> {
+            if (state.acquire(limits, 0) == 0) {
+                admitted.incrementAndGet();
+            }
+        });
+        assertEquals(50, admitted.get());
+    }
+
+    @Test
+    public void concurrencyCapIsNeverExceeded() throws Exception {
+        QuotaLimits limits = new QuotaLimits(0, 1, 4);
+        QuotaState state = new QuotaState(limits, 0);
+        AtomicInteger peak = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        runConcurrently(16, 2_000, () -> {
+            if (!state.enter(limits)) {
+                rejected.incrementAndGet();
+                return;
+            }
+            try {
+                peak.accumulateAndGet(state.getInFlight(), Math::max);
+            } finally {
+                state.exit();
+            }
+        });
+        assertTrue(peak.get() <= 4);
+        assertEquals(0, state.getInFlight());
+    }
+
+    @Test
+    public void enterRejectsAtTheCap() {
+        QuotaLimits limits = new QuotaLimits(0, 1, 2);
+        QuotaState state = new QuotaState(limits, 0);
+        assertTrue(state.enter(limits));
+        assertTrue(state.enter(limits));
+        assertFalse(state.enter(limits));
+        state.exit();
+        assertTrue(state.enter(limits));
+    }
+
+    @Test
+    public void limitsResolveMostSpecificFirst() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(QuotaLimits.PREFIX + "default.rate", "100");
+        properties.put(QuotaLimits.PREFIX + "methods.get.concurrency", "8");
+        properties.put(QuotaLimits.PREFIX + "callers.billing.rate", "5");
+        properties.put(QuotaLimits.PREFIX + "callers.billing.methods.get.burst", "3");
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("quota", properties));
+
+        QuotaLimits billing = QuotaLimits.resolve(environment, "billing", "get");
+        assertEquals(5, billing.getRate(), 0);
+        assertEquals(3, billing.getBurst());
+        assertEquals(8, billing.getConcurrency());
+
+        QuotaLimits other = QuotaLimits.resolve(environment, "orders", "list");
+        assertEquals(100, other.getRate(), 0);
+        assertEquals(100, other.getBurst());
+        assertEquals(0, other.getConcurrency());
+    }
+
+    private static void runConcurrently(int threads, int perThread, Runnable task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CyclicBarrier barrier = new CyclicBarrier(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                try {
+                    barrier.await();
+                    for (int i = 0; i < perThread; i++) {
+                        task.run();
+                    }
+                } catch (Exception e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        executor.shutdown();
+    }
+}
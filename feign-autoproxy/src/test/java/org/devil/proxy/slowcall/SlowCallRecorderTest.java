@@ -0,0 +1,66 @@
+package org.devil.proxy.slowcall;
+
+import org.devil.proxy.invoke.ProxyInvocationPostProcessor;
+import org.junit.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author yaojun
+ * 2026/10/23 09:40
+ */
+public class SlowCallRecorderTest {
+
+    public interface Client {
+
+        String find(Long id);
+
+        String find(String name);
+    }
+
+    public static class ClientImpl implements Client {
+
+        @Override
+        public String find(Long id) {
+            return "id";
+        }
+
+        @Override
+        public String find(String name) {
+            return "name";
+        }
+    }
+
+    private final SlowCallRecorder recorder = new SlowCallRecorder(10, 60, 0, 1.0);
+
+    private Client intercept(ProxyInvocationPostProcessor postProcessor) {
+        return (Client) postProcessor.intercept(Client.class, new ClientImpl());
+    }
+
+    @Test
+    public void proxiesOfTheSameClientShareOneWindowPerMethod() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton(SlowCallRecorder.BEAN_NAME, recorder);
+        ProxyInvocationPostProcessor postProcessor = new ProxyInvocationPostProcessor();
+        postProcessor.setBeanFactory(beanFactory);
+
+        Client rest = intercept(postProcessor);
+        Client grpc = intercept(postProcessor);
+        rest.find(1L);
+        grpc.find(2L);
+        grpc.find("name");
+
+        Map<String, List<SlowCall>> methods = recorder.snapshot().get(Client.class.getName());
+        assertEquals(2, methods.size());
+        String byId = Client.class.getName() + "#find(Long)";
+        String byName = Client.class.getName() + "#find(String)";
+        assertTrue(methods.keySet().toString(), methods.containsKey(byId) && methods.containsKey(byName));
+        assertEquals(2, methods.get(byId).size());
+        assertEquals(1, methods.get(byName).size());
+    }
+}
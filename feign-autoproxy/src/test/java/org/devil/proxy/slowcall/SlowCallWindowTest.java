@@ -0,0 +1,109 @@
+package org.devil.proxy.slowcall;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author yaojun
+ * 2026/10/22 11:05
+ */
+public class SlowCallWindowTest {
+
+    private static SlowCall call(long durationNanos, long timestamp) {
+        return new SlowCall("m()", "[]", durationNanos, "test", "ok", timestamp);
+    }
+
+    @Test
+    public void keepsSlowestCallsSlowestFirst() {
+        SlowCallWindow window = new SlowCallWindow(3, 4, 1000);
+        for (long duration : new long[]{5, 1, 9, 3, 7, 2}) {
+            window.offer(call(duration, 100));
+        }
+        List<SlowCall> calls = window.snapshot(100);
+        assertEquals(3, calls.size());
+        assertEquals(9, calls.get(0).getDurationNanos());
+        assertEquals(7, calls.get(1).getDurationNanos());
+        assertEquals(5, calls.get(2).getDurationNanos());
+    }
+
+    @Test
+    public void fullBucketRejectsFasterCalls() {
+        SlowCallWindow window = new SlowCallWindow(2, 4, 1000);
+        assertTrue(window.admits(1, 100));
+        window.offer(call(10, 100));
+        assertTrue("not full yet", window.admits(1, 100));
+        window.offer(call(20, 100));
+        assertFalse(window.admits(10, 100));
+        assertTrue(window.admits(11, 100));
+    }
+
+    @Test
+    public void expiredBucketsLeaveTheWindow() {
+        SlowCallWindow window = new SlowCallWindow(2, 3, 1000);
+        window.offer(call(50, 500));
+        window.offer(call(40, 1500));
+        assertEquals(2, window.snapshot(2500).size());
+
+        /**
+         * window of 3 buckets,the bucket of 500 is out at 3000
+         */
+        List<SlowCall> calls = window.snapshot(3000);
+        assertEquals(1, calls.size());
+        assertEquals(40, calls.get(0).getDurationNanos());
+
+        /**
+         * the ring slot of 500 is reused by 3500
+         */
+        window.offer(call(1, 3500));
+        assertEquals(2, window.snapshot(3500).size());
+    }
+
+    @Test
+    public void concurrentOffersKeepTheSlowestCall() throws Exception {
+        int size = 8;
+        int threads = 8;
+        int perThread = 10_000;
+        SlowCallWindow window = new SlowCallWindow(size, 4, 60_000);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < threads; t++) {
+            int offset = t;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    long duration = (long) i * threads + offset + 1;
+                    if (window.admits(duration, 1000)) {
+                        window.offer(call(duration, 1000));
+                    }
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        List<SlowCall> calls = window.snapshot(1000);
+        assertEquals(size, calls.size());
+        /**
+         * entries may be lost under contention,the slowest call never is
+         */
+        assertEquals((long) perThread * threads, calls.get(0).getDurationNanos());
+        for (int i = 1; i < calls.size(); i++) {
+            assertTrue(calls.get(i - 1).getDurationNanos() >= calls.get(i).getDurationNanos());
+        }
+    }
+}
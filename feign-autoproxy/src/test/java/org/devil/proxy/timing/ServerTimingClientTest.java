@@ -0,0 +1,63 @@
+package org.devil.proxy.timing;
+
+import feign.Request;
+import feign.Response;
+import feign.Util;
+import org.junit.Test;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author yaojun
+ * 2026/10/23 16:30
+ */
+public class ServerTimingClientTest {
+
+    private final List<ClientTiming> timings = new ArrayList<>();
+
+    private final Request request = Request.create("GET", "http://users/users/1",
+            Collections.<String, Collection<String>>emptyMap(), null, StandardCharsets.UTF_8);
+
+    private ServerTimingClient client(byte[] body) {
+        Map<String, Collection<String>> headers = new HashMap<>();
+        headers.put(ServerTiming.HEADER, Collections.singletonList("bind;dur=0.1,delegate;dur=1.0"));
+        return new ServerTimingClient((request, options) -> Response.builder()
+                .status(200)
+                .headers(headers)
+                .body(body)
+                .build(), "users", Collections.singletonList(timings::add));
+    }
+
+    @Test
+    public void callIsReportedOnceTheBodyIsRead() throws Exception {
+        Response response = client("{\"id\":1}".getBytes(StandardCharsets.UTF_8)).execute(request, new Request.Options());
+        assertTrue("not reported before the body is read", timings.isEmpty());
+
+        try (InputStream body = response.body().asInputStream()) {
+            assertEquals("{\"id\":1}", new String(Util.toByteArray(body), StandardCharsets.UTF_8));
+        }
+        response.close();
+
+        assertEquals(1, timings.size());
+        ClientTiming timing = timings.get(0);
+        assertTrue(timing.getTotalNanos() >= timing.getHeadersNanos());
+        assertEquals(1.1, timing.getServerMillisTotal(), 0.0001);
+    }
+
+    @Test
+    public void closedBodyIsReported() throws Exception {
+        Response response = client("[]".getBytes(StandardCharsets.UTF_8)).execute(request, new Request.Options());
+        response.close();
+        assertEquals(1, timings.size());
+    }
+}
@@ -0,0 +1,58 @@
+package org.devil.proxy.timing;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author yaojun
+ * 2026/10/22 09:10
+ */
+public class ServerTimingTest {
+
+    private Locale defaultLocale;
+
+    @Before
+    public void setUp() {
+        defaultLocale = Locale.getDefault();
+        /**
+         * comma as decimal separator
+         */
+        Locale.setDefault(Locale.GERMANY);
+    }
+
+    @After
+    public void tearDown() {
+        Locale.setDefault(defaultLocale);
+    }
+
+    @Test
+    public void appendAndParseUnderCommaDecimalLocale() {
+        StringBuilder header = new StringBuilder();
+        ServerTiming.append(header, ServerTiming.BIND, 214_000L);
+        ServerTiming.append(header, ServerTiming.DELEGATE, 12_870_000L);
+        ServerTiming.append(header, ServerTiming.SERIALIZATION, 391_000L);
+
+        assertEquals("bind;dur=0.214, delegate;dur=12.870, ser;dur=0.391", header.toString());
+
+        Map<String, Double> timings = ServerTiming.parse(header.toString());
+        assertEquals(3, timings.size());
+        assertEquals(0.214, timings.get(ServerTiming.BIND), 1e-9);
+        assertEquals(12.870, timings.get(ServerTiming.DELEGATE), 1e-9);
+        assertEquals(0.391, timings.get(ServerTiming.SERIALIZATION), 1e-9);
+    }
+
+    @Test
+    public void parseSkipsMetricsWithoutDuration() {
+        Map<String, Double> timings = ServerTiming.parse("cache;desc=\"hit\", db;dur=abc, app;dur=1.5");
+        assertEquals(1, timings.size());
+        assertEquals(1.5, timings.get("app"), 1e-9);
+        assertTrue(ServerTiming.parse(null).isEmpty());
+    }
+}
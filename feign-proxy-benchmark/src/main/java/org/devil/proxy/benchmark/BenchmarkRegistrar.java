@@ -0,0 +1,22 @@
+package org.devil.proxy.benchmark;
+
+import org.devil.proxy.FeignClientsProxyRegistrar;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.core.env.Environment;
+
+/**
+ * register proxies the same way {@code @EnableAutoProxyFeign} does,one client at a time
+ *
+ * @author yaojun
+ * 2026/10/19 10:45
+ */
+class BenchmarkRegistrar extends FeignClientsProxyRegistrar {
+
+    BenchmarkRegistrar(Environment environment) {
+        setEnvironment(environment);
+    }
+
+    void register(String client, BeanDefinitionRegistry registry) {
+        registerClient(client, registry);
+    }
+}
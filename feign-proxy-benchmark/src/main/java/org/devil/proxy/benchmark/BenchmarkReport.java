@@ -0,0 +1,94 @@
+package org.devil.proxy.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.ToLongFunction;
+
+/**
+ * median of the reported rounds per client count,as a text table and optionally csv
+ *
+ * @author yaojun
+ * 2026/10/19 10:58
+ */
+public class BenchmarkReport {
+
+    private final static String[] COLUMNS = {"clients", "generation ms", "startup ms", "startup ms/client",
+            "generation alloc KB/client", "startup alloc KB/client", "metaspace KB/client", "retained KB/client"};
+
+    private final BenchmarkShape shape;
+
+    private final List<long[]> rows = new ArrayList<>();
+
+    public BenchmarkReport(BenchmarkShape shape) {
+        this.shape = shape;
+    }
+
+    public void add(int clients, List<ScaleResult> rounds) {
+        rows.add(new long[]{
+                clients,
+                median(rounds, ScaleResult::getGenerationNanos) / 1_000_000,
+                median(rounds, ScaleResult::getStartupNanos) / 1_000_000,
+                median(rounds, ScaleResult::getStartupNanos) / 1_000 / clients,
+                median(rounds, ScaleResult::getGenerationAllocatedBytes) / 1024 / clients,
+                median(rounds, ScaleResult::getStartupAllocatedBytes) / 1024 / clients,
+                median(rounds, ScaleResult::getMetaspaceGrowthBytes) / 1024 / clients,
+                median(rounds, ScaleResult::getRetainedHeapBytes) / 1024 / clients
+        });
+    }
+
+    /**
+     * per client startup of the largest client count divided by the smallest one,1.0 means linear scaling
+     */
+    public double scalingFactor() {
+        if (rows.size() < 2) {
+            return 1.0;
+        }
+        long first = Math.max(1, rows.get(0)[3]);
+        return (double) rows.get(rows.size() - 1)[3] / first;
+    }
+
+    public String toTable() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("feign proxy scaling benchmark [").append(shape).append("]\n");
+        for (String column : COLUMNS) {
+            builder.append(String.format(Locale.ROOT, "%-28s", column));
+        }
+        builder.append('\n');
+        for (long[] row : rows) {
+            for (int i = 0; i < row.length; i++) {
+                /**
+                 * startup per client is measured in micros to keep precision
+                 */
+                String value = i == 3 ? String.format(Locale.ROOT, "%.3f", row[i] / 1000.0) : String.valueOf(row[i]);
+                builder.append(String.format(Locale.ROOT, "%-28s", value));
+            }
+            builder.append('\n');
+        }
+        builder.append(String.format(Locale.ROOT, "scaling factor (startup/client, largest vs smallest): %.2f%n", scalingFactor()));
+        return builder.toString();
+    }
+
+    public void writeCsv(Path path) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.join(",", COLUMNS));
+        for (long[] row : rows) {
+            String[] values = new String[row.length];
+            for (int i = 0; i < row.length; i++) {
+                values[i] = i == 3 ? String.format(Locale.ROOT, "%.3f", row[i] / 1000.0) : String.valueOf(row[i]);
+            }
+            lines.add(String.join(",", Arrays.asList(values)));
+        }
+        Files.write(path, lines, StandardCharsets.UTF_8);
+    }
+
+    private static long median(List<ScaleResult> rounds, ToLongFunction<ScaleResult> metric) {
+        long[] values = rounds.stream().mapToLong(metric).sorted().toArray();
+        return values[values.length / 2];
+    }
+}
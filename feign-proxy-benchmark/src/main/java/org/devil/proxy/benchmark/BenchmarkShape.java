@@ -0,0 +1,85 @@
+package org.devil.proxy.benchmark;
+
+import java.util.Arrays;
+
+/**
+ * shape of the synthetic feign clients,read from system properties
+ * <pre>
+ *     -Dbenchmark.clients=10,100,1000   client counts to measure
+ *     -Dbenchmark.methods=20            methods per client
+ *     -Dbenchmark.params=4              parameters per method
+ *     -Dbenchmark.heavy=true            annotate parameters with every member and extra annotations
+ *     -Dbenchmark.warmup=1              unreported rounds per client count
+ *     -Dbenchmark.rounds=3              reported rounds per client count
+ * </pre>
+ *
+ * @author yaojun
+ * 2026/10/19 10:12
+ */
+public class BenchmarkShape {
+
+    private final int[] clientCounts;
+
+    private final int methods;
+
+    private final int params;
+
+    private final boolean heavy;
+
+    private final int warmup;
+
+    private final int rounds;
+
+    public BenchmarkShape(int[] clientCounts, int methods, int params, boolean heavy, int warmup, int rounds) {
+        this.clientCounts = clientCounts;
+        this.methods = methods;
+        this.params = params;
+        this.heavy = heavy;
+        this.warmup = warmup;
+        this.rounds = rounds;
+    }
+
+    public static BenchmarkShape fromSystemProperties() {
+        int[] clientCounts = Arrays.stream(System.getProperty("benchmark.clients", "10,100,1000").split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        return new BenchmarkShape(clientCounts,
+                Integer.getInteger("benchmark.methods", 20),
+                Integer.getInteger("benchmark.params", 4),
+                Boolean.parseBoolean(System.getProperty("benchmark.heavy", "true")),
+                Integer.getInteger("benchmark.warmup", 1),
+                Integer.getInteger("benchmark.rounds", 3));
+    }
+
+    public int[] getClientCounts() {
+        return clientCounts;
+    }
+
+    public int getMethods() {
+        return methods;
+    }
+
+    public int getParams() {
+        return params;
+    }
+
+    public boolean isHeavy() {
+        return heavy;
+    }
+
+    public int getWarmup() {
+        return warmup;
+    }
+
+    public int getRounds() {
+        return rounds;
+    }
+
+    @Override
+    public String toString() {
+        return "clients=" + Arrays.toString(clientCounts) + ",methods=" + methods + ",params=" + params
+                + ",heavy=" + heavy + ",warmup=" + warmup + ",rounds=" + rounds;
+    }
+}
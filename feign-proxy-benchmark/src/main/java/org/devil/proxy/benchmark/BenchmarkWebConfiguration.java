@@ -0,0 +1,15 @@
+package org.devil.proxy.benchmark;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+/**
+ * spring mvc infrastructure,so startup includes mapping every proxied endpoint
+ *
+ * @author yaojun
+ * 2026/10/19 10:47
+ */
+@Configuration
+@EnableWebMvc
+public class BenchmarkWebConfiguration {
+}
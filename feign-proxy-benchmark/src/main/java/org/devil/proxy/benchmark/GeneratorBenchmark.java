@@ -0,0 +1,96 @@
+package org.devil.proxy.benchmark;
+
+import org.devil.proxy.FeignClientBuild;
+import org.devil.proxy.generator.ProxyGenerator;
+import org.devil.proxy.generator.ProxyGenerators;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * compare the {@link ProxyGenerator} backends on the same synthetic clients shape:
+ * generation time,define time,allocated bytes and size of the produced bytecode per client.
+ * every backend and round gets its own synthetic clients,the largest {@code benchmark.clients} value is used
+ * <pre>
+ *     java -Dbenchmark.clients=500 -Dbenchmark.methods=20 -cp ... org.devil.proxy.benchmark.GeneratorBenchmark
+ * </pre>
+ *
+ * @author yaojun
+ * 2026/10/19 17:45
+ */
+public class GeneratorBenchmark {
+
+    private final static Logger logger = LoggerFactory.getLogger(GeneratorBenchmark.class);
+
+    private final BenchmarkShape shape;
+
+    private final SyntheticClientGenerator generator;
+
+    private int runSequence;
+
+    public GeneratorBenchmark(BenchmarkShape shape) {
+        this.shape = shape;
+        this.generator = new SyntheticClientGenerator(shape);
+    }
+
+    public static void main(String[] args) throws Exception {
+        BenchmarkShape shape = BenchmarkShape.fromSystemProperties();
+        GeneratorBenchmark benchmark = new GeneratorBenchmark(shape);
+
+        int clients = 0;
+        for (int count : shape.getClientCounts()) {
+            clients = Math.max(clients, count);
+        }
+
+        StringBuilder report = new StringBuilder();
+        report.append("feign proxy generator benchmark [").append(shape).append("]\n");
+        report.append(String.format(Locale.ROOT, "%-12s%-20s%-20s%-24s%-20s%n", "generator", "generate us/client", "define us/client", "allocated KB/client", "bytecode B/client"));
+        for (ProxyGenerator proxyGenerator : ProxyGenerators.all()) {
+            long[] median = benchmark.run(proxyGenerator, clients);
+            report.append(String.format(Locale.ROOT, "%-12s%-20.1f%-20.1f%-24d%-20d%n", proxyGenerator.getName(),
+                    median[0] / 1000.0 / clients, median[1] / 1000.0 / clients, median[2] / 1024 / clients, median[3] / clients));
+        }
+        System.out.println(report);
+    }
+
+    /**
+     * @return generate nanos,define nanos,allocated bytes,bytecode bytes of the median round by generate time
+     */
+    public long[] run(ProxyGenerator proxyGenerator, int clients) throws Exception {
+        List<long[]> rounds = new ArrayList<>();
+        for (int round = 0; round < shape.getWarmup() + shape.getRounds(); round++) {
+            String run = "g" + (runSequence++);
+            if (logger.isInfoEnabled()) {
+                logger.info("run {} with {} clients by {}", run, clients, proxyGenerator.getName());
+            }
+            List<SyntheticClient> syntheticClients = new ArrayList<>(clients);
+            for (int i = 0; i < clients; i++) {
+                syntheticClients.add(generator.generate(run, i));
+            }
+
+            long generateNanos = 0;
+            long defineNanos = 0;
+            long bytecodeBytes = 0;
+            long allocatedBefore = MemoryProbe.allocatedBytes();
+            for (SyntheticClient client : syntheticClients) {
+                long start = System.nanoTime();
+                byte[] bytecode = proxyGenerator.generate(client.getClient());
+                long generated = System.nanoTime();
+                FeignClientBuild.defineProxyClass(client.getClient(), bytecode);
+                defineNanos += System.nanoTime() - generated;
+                generateNanos += generated - start;
+                bytecodeBytes += bytecode.length;
+            }
+            long allocated = MemoryProbe.allocatedBytes() - allocatedBefore;
+
+            if (round >= shape.getWarmup()) {
+                rounds.add(new long[]{generateNanos, defineNanos, allocated, bytecodeBytes});
+            }
+        }
+        rounds.sort((a, b) -> Long.compare(a[0], b[0]));
+        return rounds.get(rounds.size() / 2);
+    }
+}
@@ -0,0 +1,56 @@
+package org.devil.proxy.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * jvm counters used by the benchmark
+ *
+ * @author yaojun
+ * 2026/10/19 10:41
+ */
+final class MemoryProbe {
+
+    private final static String METASPACE_POOL = "Metaspace";
+
+    private MemoryProbe() {
+    }
+
+    /**
+     * bytes allocated by the current thread,-1 if the jvm does not support it
+     */
+    static long allocatedBytes() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threadMXBean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    static long metaspaceUsed() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (METASPACE_POOL.equals(pool.getName())) {
+                return pool.getUsage().getUsed();
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * used heap after the garbage collector settled,approximates the retained heap
+     */
+    static long settledHeapUsed() throws InterruptedException {
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(50);
+            long current = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+            if (current >= used) {
+                return current;
+            }
+            used = current;
+        }
+        return used;
+    }
+}
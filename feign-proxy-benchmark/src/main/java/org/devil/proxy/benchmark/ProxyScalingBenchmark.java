@@ -0,0 +1,132 @@
+package org.devil.proxy.benchmark;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.annotation.AnnotatedBeanDefinitionReader;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.context.support.GenericWebApplicationContext;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * startup scaling benchmark of {@code FeignClientsProxyRegistrar} and {@code FeignClientBuild}.
+ * <p>
+ * for every client count synthetic clients are generated first(not measured),then the proxies are registered
+ * into a spring mvc context,the context is refreshed and every proxy is instantiated.
+ * <pre>
+ *     java -Dbenchmark.clients=10,100,1000 -Dbenchmark.report=target/scaling.csv \
+ *          -Dbenchmark.maxScalingFactor=2.0 -cp ... org.devil.proxy.benchmark.ProxyScalingBenchmark
+ * </pre>
+ * on jdk 9+ javassist needs {@code --add-opens java.base/java.lang=ALL-UNNAMED} to define classes.
+ * exits with 1 if startup per client of the largest count exceeds {@code benchmark.maxScalingFactor}
+ * times the smallest one
+ *
+ * @author yaojun
+ * 2026/10/19 11:05
+ */
+public class ProxyScalingBenchmark {
+
+    private final static Logger logger = LoggerFactory.getLogger(ProxyScalingBenchmark.class);
+
+    private final BenchmarkShape shape;
+
+    private final SyntheticClientGenerator generator;
+
+    private int runSequence;
+
+    public ProxyScalingBenchmark(BenchmarkShape shape) {
+        this.shape = shape;
+        this.generator = new SyntheticClientGenerator(shape);
+    }
+
+    public static void main(String[] args) throws Exception {
+        BenchmarkShape shape = BenchmarkShape.fromSystemProperties();
+        BenchmarkReport report = new ProxyScalingBenchmark(shape).run();
+
+        System.out.println(report.toTable());
+
+        String csv = System.getProperty("benchmark.report");
+        if (csv != null) {
+            report.writeCsv(Paths.get(csv));
+        }
+
+        String maxScalingFactor = System.getProperty("benchmark.maxScalingFactor");
+        if (maxScalingFactor != null && report.scalingFactor() > Double.parseDouble(maxScalingFactor)) {
+            logger.error("scaling factor {} exceeds {}", report.scalingFactor(), maxScalingFactor);
+            System.exit(1);
+        }
+    }
+
+    public BenchmarkReport run() throws Exception {
+        BenchmarkReport report = new BenchmarkReport(shape);
+        for (int clients : shape.getClientCounts()) {
+            List<ScaleResult> rounds = new ArrayList<>();
+            for (int round = 0; round < shape.getWarmup() + shape.getRounds(); round++) {
+                ScaleResult result = runOnce(clients);
+                if (round >= shape.getWarmup()) {
+                    rounds.add(result);
+                }
+            }
+            report.add(clients, rounds);
+        }
+        return report;
+    }
+
+    private ScaleResult runOnce(int clients) throws Exception {
+        String run = "r" + (runSequence++);
+        if (logger.isInfoEnabled()) {
+            logger.info("run {} with {} clients", run, clients);
+        }
+
+        /**
+         * synthetic classes are not part of the measurement
+         */
+        List<SyntheticClient> syntheticClients = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            syntheticClients.add(generator.generate(run, i));
+        }
+
+        long heapBefore = MemoryProbe.settledHeapUsed();
+        long metaspaceBefore = MemoryProbe.metaspaceUsed();
+        long allocatedBefore = MemoryProbe.allocatedBytes();
+        long start = System.nanoTime();
+
+        GenericWebApplicationContext context = new GenericWebApplicationContext(new MockServletContext());
+        new AnnotatedBeanDefinitionReader(context).register(BenchmarkWebConfiguration.class);
+        BenchmarkRegistrar registrar = new BenchmarkRegistrar(context.getEnvironment());
+
+        long generationNanos = 0;
+        long generationAllocated = 0;
+        for (SyntheticClient client : syntheticClients) {
+            context.registerBeanDefinition(client.getImplementationBeanName(), new RootBeanDefinition(client.getImplementation()));
+
+            long allocated = MemoryProbe.allocatedBytes();
+            long generationStart = System.nanoTime();
+            registrar.register(client.getClient().getName(), context);
+            generationNanos += System.nanoTime() - generationStart;
+            generationAllocated += MemoryProbe.allocatedBytes() - allocated;
+        }
+
+        context.refresh();
+        try {
+            /**
+             * proxies are lazy,instantiate them to include injection of the delegate
+             */
+            for (SyntheticClient client : syntheticClients) {
+                context.getBean(client.getQualifier());
+            }
+            long startupNanos = System.nanoTime() - start;
+            long startupAllocated = MemoryProbe.allocatedBytes() - allocatedBefore;
+            long metaspaceGrowth = MemoryProbe.metaspaceUsed() - metaspaceBefore;
+            long retainedHeap = MemoryProbe.settledHeapUsed() - heapBefore;
+
+            return new ScaleResult(clients, generationNanos, startupNanos, generationAllocated,
+                    startupAllocated, metaspaceGrowth, retainedHeap);
+        } finally {
+            context.close();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package org.devil.proxy.benchmark;
+
+/**
+ * measurement of one round for a client count
+ *
+ * @author yaojun
+ * 2026/10/19 10:52
+ */
+public class ScaleResult {
+
+    private final int clients;
+
+    private final long generationNanos;
+
+    private final long startupNanos;
+
+    private final long generationAllocatedBytes;
+
+    private final long startupAllocatedBytes;
+
+    private final long metaspaceGrowthBytes;
+
+    private final long retainedHeapBytes;
+
+    public ScaleResult(int clients, long generationNanos, long startupNanos, long generationAllocatedBytes,
+                       long startupAllocatedBytes, long metaspaceGrowthBytes, long retainedHeapBytes) {
+        this.clients = clients;
+        this.generationNanos = generationNanos;
+        this.startupNanos = startupNanos;
+        this.generationAllocatedBytes = generationAllocatedBytes;
+        this.startupAllocatedBytes = startupAllocatedBytes;
+        this.metaspaceGrowthBytes = metaspaceGrowthBytes;
+        this.retainedHeapBytes = retainedHeapBytes;
+    }
+
+    public int getClients() {
+        return clients;
+    }
+
+    /**
+     * time spent in the registrar generating proxy classes and bean definitions
+     */
+    public long getGenerationNanos() {
+        return generationNanos;
+    }
+
+    /**
+     * end to end: generation,context refresh and first instantiation of every proxy
+     */
+    public long getStartupNanos() {
+        return startupNanos;
+    }
+
+    public long getGenerationAllocatedBytes() {
+        return generationAllocatedBytes;
+    }
+
+    public long getStartupAllocatedBytes() {
+        return startupAllocatedBytes;
+    }
+
+    public long getMetaspaceGrowthBytes() {
+        return metaspaceGrowthBytes;
+    }
+
+    public long getRetainedHeapBytes() {
+        return retainedHeapBytes;
+    }
+}
@@ -0,0 +1,41 @@
+package org.devil.proxy.benchmark;
+
+/**
+ * a generated {@code @FeignClient} interface and its implementation bean class
+ *
+ * @author yaojun
+ * 2026/10/19 10:20
+ */
+public class SyntheticClient {
+
+    private final Class<?> client;
+
+    private final Class<?> implementation;
+
+    private final String qualifier;
+
+    public SyntheticClient(Class<?> client, Class<?> implementation, String qualifier) {
+        this.client = client;
+        this.implementation = implementation;
+        this.qualifier = qualifier;
+    }
+
+    public Class<?> getClient() {
+        return client;
+    }
+
+    public Class<?> getImplementation() {
+        return implementation;
+    }
+
+    /**
+     * bean name of the generated proxy
+     */
+    public String getQualifier() {
+        return qualifier;
+    }
+
+    public String getImplementationBeanName() {
+        return qualifier + "Impl";
+    }
+}
@@ -0,0 +1,174 @@
+package org.devil.proxy.benchmark;
+
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtMethod;
+import javassist.Modifier;
+import javassist.bytecode.AnnotationsAttribute;
+import javassist.bytecode.ClassFile;
+import javassist.bytecode.ConstPool;
+import javassist.bytecode.MethodInfo;
+import javassist.bytecode.ParameterAnnotationsAttribute;
+import javassist.bytecode.annotation.Annotation;
+import javassist.bytecode.annotation.ArrayMemberValue;
+import javassist.bytecode.annotation.BooleanMemberValue;
+import javassist.bytecode.annotation.MemberValue;
+import javassist.bytecode.annotation.StringMemberValue;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.lang.Nullable;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+
+/**
+ * generate {@code @FeignClient} interfaces and implementations with the configured shape.
+ * <p>
+ * even methods are {@code @GetMapping} with {@code @RequestParam} parameters,odd methods are
+ * {@code @PostMapping} taking a {@code @RequestBody} first parameter,every method returns String.
+ * classes are defined in the context class loader so {@code Class.forName} in the registrar can find them
+ *
+ * @author yaojun
+ * 2026/10/19 10:24
+ */
+public class SyntheticClientGenerator {
+
+    private final static String SYNTHETIC_PACKAGE = "org.devil.proxy.benchmark.synthetic";
+
+    private final static String[] PARAMETER_TYPES = {String.class.getName(), Integer.class.getName(), Long.class.getName()};
+
+    private final ClassPool classPool = ClassPool.getDefault();
+
+    private final BenchmarkShape shape;
+
+    public SyntheticClientGenerator(BenchmarkShape shape) {
+        this.shape = shape;
+    }
+
+    /**
+     * @param run   unique run id,classes can not be redefined so every run gets its own package
+     * @param index client index in the run
+     */
+    public SyntheticClient generate(String run, int index) throws Exception {
+        String clientName = SYNTHETIC_PACKAGE + "." + run + ".Client" + index;
+        String qualifier = run + "Client" + index;
+
+        CtClass client = classPool.makeInterface(clientName);
+        client.setModifiers(Modifier.setPublic(client.getModifiers()));
+        addClientAnnotation(client, run, index, qualifier);
+
+        CtClass implementation = classPool.makeClass(clientName + "Impl");
+        implementation.setModifiers(Modifier.setPublic(implementation.getModifiers()));
+        implementation.addInterface(client);
+
+        CtClass returnType = classPool.get(String.class.getName());
+        for (int m = 0; m < shape.getMethods(); m++) {
+            String methodName = "method" + m;
+            CtClass[] parameterTypes = parameterTypes();
+
+            CtMethod method = new CtMethod(returnType, methodName, parameterTypes, client);
+            method.setModifiers(Modifier.PUBLIC | Modifier.ABSTRACT);
+            addMethodAnnotations(method.getMethodInfo(), m);
+            client.addMethod(method);
+
+            CtMethod implementationMethod = new CtMethod(returnType, methodName, parameterTypes, implementation);
+            implementationMethod.setModifiers(Modifier.PUBLIC);
+            implementationMethod.setBody(String.format("{return \"%s#%s\";}", qualifier, methodName));
+            implementation.addMethod(implementationMethod);
+        }
+
+        /**
+         * interface must be defined before the implementation
+         */
+        Class<?> clientClass = client.toClass();
+        Class<?> implementationClass = implementation.toClass();
+        return new SyntheticClient(clientClass, implementationClass, qualifier);
+    }
+
+    private CtClass[] parameterTypes() throws Exception {
+        CtClass[] parameterTypes = new CtClass[shape.getParams()];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            parameterTypes[i] = classPool.get(PARAMETER_TYPES[i % PARAMETER_TYPES.length]);
+        }
+        return parameterTypes;
+    }
+
+    private void addClientAnnotation(CtClass client, String run, int index, String qualifier) {
+        ClassFile classFile = client.getClassFile();
+        ConstPool constPool = classFile.getConstPool();
+
+        Annotation feignClient = new Annotation(FeignClient.class.getName(), constPool);
+        feignClient.addMemberValue("name", new StringMemberValue(run + "-client" + index, constPool));
+        feignClient.addMemberValue("path", new StringMemberValue("/" + run + "/client" + index, constPool));
+        feignClient.addMemberValue("qualifier", new StringMemberValue(qualifier, constPool));
+
+        AnnotationsAttribute attribute = new AnnotationsAttribute(constPool, AnnotationsAttribute.visibleTag);
+        attribute.addAnnotation(feignClient);
+        classFile.addAttribute(attribute);
+    }
+
+    private void addMethodAnnotations(MethodInfo methodInfo, int index) {
+        ConstPool constPool = methodInfo.getConstPool();
+        boolean post = index % 2 == 1;
+
+        Annotation mapping = new Annotation(post ? PostMapping.class.getName() : GetMapping.class.getName(), constPool);
+        mapping.addMemberValue("path", stringArray(constPool, "/method" + index));
+        if (shape.isHeavy()) {
+            mapping.addMemberValue("produces", stringArray(constPool, "application/json", "text/plain"));
+            mapping.addMemberValue("headers", stringArray(constPool, "X-Benchmark-Client"));
+            if (post) {
+                mapping.addMemberValue("consumes", stringArray(constPool, "application/json"));
+            }
+        }
+        AnnotationsAttribute attribute = new AnnotationsAttribute(constPool, AnnotationsAttribute.visibleTag);
+        attribute.addAnnotation(mapping);
+        methodInfo.addAttribute(attribute);
+
+        Annotation[][] parameterAnnotations = new Annotation[shape.getParams()][];
+        for (int i = 0; i < parameterAnnotations.length; i++) {
+            parameterAnnotations[i] = parameterAnnotations(constPool, post && i == 0, i);
+        }
+        ParameterAnnotationsAttribute parameterAttribute = new ParameterAnnotationsAttribute(constPool, ParameterAnnotationsAttribute.visibleTag);
+        parameterAttribute.setAnnotations(parameterAnnotations);
+        methodInfo.addAttribute(parameterAttribute);
+    }
+
+    private Annotation[] parameterAnnotations(ConstPool constPool, boolean body, int index) {
+        Annotation binding;
+        if (body) {
+            binding = new Annotation(RequestBody.class.getName(), constPool);
+            binding.addMemberValue("required", new BooleanMemberValue(false, constPool));
+        } else {
+            binding = new Annotation(RequestParam.class.getName(), constPool);
+            binding.addMemberValue("value", new StringMemberValue("p" + index, constPool));
+            binding.addMemberValue("required", new BooleanMemberValue(false, constPool));
+            if (shape.isHeavy()) {
+                binding.addMemberValue("defaultValue", new StringMemberValue(String.valueOf(index), constPool));
+            }
+        }
+
+        if (!shape.isHeavy()) {
+            return new Annotation[]{binding};
+        }
+
+        /**
+         * heavy parameters carry extra annotations to load the annotation copy,the first binding annotation wins in spring mvc
+         */
+        Annotation header = new Annotation(RequestHeader.class.getName(), constPool);
+        header.addMemberValue("value", new StringMemberValue("X-Benchmark-P" + index, constPool));
+        header.addMemberValue("required", new BooleanMemberValue(false, constPool));
+        Annotation nullable = new Annotation(Nullable.class.getName(), constPool);
+        return new Annotation[]{binding, nullable, header};
+    }
+
+    private static MemberValue stringArray(ConstPool constPool, String... values) {
+        ArrayMemberValue memberValue = new ArrayMemberValue(constPool);
+        MemberValue[] members = new MemberValue[values.length];
+        for (int i = 0; i < values.length; i++) {
+            members[i] = new StringMemberValue(values[i], constPool);
+        }
+        memberValue.setValue(members);
+        return memberValue;
+    }
+}
@@ -0,0 +1,35 @@
+package org.devil.proxy.loadtest;
+
+import feign.FeignException;
+import feign.Response;
+import feign.codec.Decoder;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * decode {@code CompletableFuture<T>} results as a completed future of {@code T}.
+ * feign calls stay blocking,only the server handles the async endpoints asynchronously
+ *
+ * @author yaojun
+ * 2026/10/20 16:25
+ */
+class FutureDecoder implements Decoder {
+
+    private final Decoder delegate;
+
+    FutureDecoder(Decoder delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Object decode(Response response, Type type) throws IOException, FeignException {
+        if (type instanceof ParameterizedType && ((ParameterizedType) type).getRawType() == CompletableFuture.class) {
+            Type valueType = ((ParameterizedType) type).getActualTypeArguments()[0];
+            return CompletableFuture.completedFuture(delegate.decode(response, valueType));
+        }
+        return delegate.decode(response, type);
+    }
+}
@@ -0,0 +1,23 @@
+package org.devil.proxy.loadtest;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * served by the generated proxy of {@link LoadService} on the server,called through feign by the driver
+ *
+ * @author yaojun
+ * 2026/10/20 16:05
+ */
+@FeignClient(name = "proxyLoad", url = "${loadtest.url}", path = "/proxy", qualifier = "proxyLoadClient")
+public interface LoadClient {
+
+    @GetMapping("/payload/{id}")
+    Payload payload(@PathVariable("id") long id);
+
+    @GetMapping("/async/payload/{id}")
+    CompletableFuture<Payload> asyncPayload(@PathVariable("id") long id);
+}
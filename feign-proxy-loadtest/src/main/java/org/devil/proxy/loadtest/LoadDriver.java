@@ -0,0 +1,118 @@
+package org.devil.proxy.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * drive one mode with {@code concurrency} worker threads.
+ * <p>
+ * closed loop: every worker sends the next request when the previous one returned,latency is the service time.
+ * open loop: every worker owns {@code rate/concurrency} fixed start times,latency is measured from the intended start
+ * so a stalled server is not hidden by the workers waiting on it(coordinated omission)
+ *
+ * @author yaojun
+ * 2026/10/20 16:40
+ */
+public class LoadDriver {
+
+    private final static Logger logger = LoggerFactory.getLogger(LoadDriver.class);
+
+    private final static long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final LoadShape shape;
+
+    private final LoadClient proxy;
+
+    private final PlainLoadClient plain;
+
+    public LoadDriver(LoadShape shape, LoadClient proxy, PlainLoadClient plain) {
+        this.shape = shape;
+        this.proxy = proxy;
+        this.plain = plain;
+    }
+
+    public LoadResult run(LoadMode mode) throws InterruptedException {
+        if (logger.isInfoEnabled()) {
+            logger.info("warm up {} for {}s", mode.getName(), shape.getWarmupSeconds());
+        }
+        drive(mode, TimeUnit.SECONDS.toNanos(shape.getWarmupSeconds()));
+        if (logger.isInfoEnabled()) {
+            logger.info("measure {} for {}s", mode.getName(), shape.getDurationSeconds());
+        }
+        return drive(mode, TimeUnit.SECONDS.toNanos(shape.getDurationSeconds()));
+    }
+
+    private LoadResult drive(LoadMode mode, long durationNanos) throws InterruptedException {
+        Recorder recorder = new Recorder(HIGHEST_MICROS, 3);
+        AtomicLong errors = new AtomicLong();
+        int concurrency = shape.getConcurrency();
+        CountDownLatch done = new CountDownLatch(concurrency);
+
+        long start = System.nanoTime();
+        long end = start + durationNanos;
+        for (int worker = 0; worker < concurrency; worker++) {
+            int index = worker;
+            Thread thread = new Thread(() -> {
+                try {
+                    if (shape.isOpenLoop()) {
+                        openLoop(mode, index, start, end, recorder, errors);
+                    } else {
+                        closedLoop(mode, index, end, recorder, errors);
+                    }
+                } finally {
+                    done.countDown();
+                }
+            }, "loadtest-" + mode.getName() + "-" + worker);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        done.await();
+        long elapsed = System.nanoTime() - start;
+
+        Histogram histogram = recorder.getIntervalHistogram();
+        return new LoadResult(mode, shape, histogram, errors.get(), elapsed);
+    }
+
+    private void closedLoop(LoadMode mode, int worker, long end, Recorder recorder, AtomicLong errors) {
+        long id = worker;
+        long now;
+        while ((now = System.nanoTime()) < end) {
+            call(mode, id, recorder, errors, now);
+            id += shape.getConcurrency();
+        }
+    }
+
+    private void openLoop(LoadMode mode, int worker, long start, long end, Recorder recorder, AtomicLong errors) {
+        long interval = TimeUnit.SECONDS.toNanos(1) * shape.getConcurrency() / shape.getRate();
+        long intended = start + interval * worker / shape.getConcurrency();
+        long id = worker;
+        long now;
+        while (intended < end && (now = System.nanoTime()) < end) {
+            while (now < intended) {
+                LockSupport.parkNanos(intended - now);
+                now = System.nanoTime();
+            }
+            call(mode, id, recorder, errors, intended);
+            intended += interval;
+            id += shape.getConcurrency();
+        }
+    }
+
+    private void call(LoadMode mode, long id, Recorder recorder, AtomicLong errors, long since) {
+        try {
+            mode.call(proxy, plain, id);
+        } catch (RuntimeException e) {
+            if (errors.getAndIncrement() == 0 && logger.isWarnEnabled()) {
+                logger.warn("{} call failed", mode.getName(), e);
+            }
+        }
+        recorder.recordValue(Math.min(HIGHEST_MICROS, (System.nanoTime() - since) / 1000));
+    }
+}
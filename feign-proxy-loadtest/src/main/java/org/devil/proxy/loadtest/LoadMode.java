@@ -0,0 +1,70 @@
+package org.devil.proxy.loadtest;
+
+/**
+ * endpoint set and servlet model under test
+ *
+ * @author yaojun
+ * 2026/10/20 16:30
+ */
+public enum LoadMode {
+
+    PLAIN("plain") {
+        @Override
+        Object call(LoadClient proxy, PlainLoadClient plain, long id) {
+            return plain.payload(id);
+        }
+    },
+    PROXY("proxy") {
+        @Override
+        Object call(LoadClient proxy, PlainLoadClient plain, long id) {
+            return proxy.payload(id);
+        }
+    },
+    PLAIN_ASYNC("plain-async") {
+        @Override
+        Object call(LoadClient proxy, PlainLoadClient plain, long id) {
+            return plain.asyncPayload(id).join();
+        }
+    },
+    PROXY_ASYNC("proxy-async") {
+        @Override
+        Object call(LoadClient proxy, PlainLoadClient plain, long id) {
+            return proxy.asyncPayload(id).join();
+        }
+    };
+
+    private final String name;
+
+    LoadMode(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * the mode this one is compared with,null for the baselines
+     */
+    public LoadMode getBaseline() {
+        switch (this) {
+            case PROXY:
+                return PLAIN;
+            case PROXY_ASYNC:
+                return PLAIN_ASYNC;
+            default:
+                return null;
+        }
+    }
+
+    abstract Object call(LoadClient proxy, PlainLoadClient plain, long id);
+
+    public static LoadMode forName(String name) {
+        for (LoadMode mode : values()) {
+            if (mode.name.equalsIgnoreCase(name.trim())) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("unknown load mode " + name);
+    }
+}
@@ -0,0 +1,86 @@
+package org.devil.proxy.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * results of every mode as a text table,the generated proxy modes are compared with their plain baselines.
+ * the full distributions can be written as {@code .hgrm} percentile files for plotting
+ *
+ * @author yaojun
+ * 2026/10/20 16:58
+ */
+public class LoadReport {
+
+    private final static String[] COLUMNS = {"mode", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"};
+
+    private final static double[] PERCENTILES = {50, 90, 99, 99.9, 100};
+
+    private final LoadShape shape;
+
+    private final Map<LoadMode, LoadResult> results = new LinkedHashMap<>();
+
+    public LoadReport(LoadShape shape) {
+        this.shape = shape;
+    }
+
+    public void add(LoadResult result) {
+        results.put(result.getMode(), result);
+    }
+
+    public String toTable() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("feign proxy load test [").append(shape).append("]\n");
+        for (String column : COLUMNS) {
+            builder.append(String.format(Locale.ROOT, "%-14s", column));
+        }
+        builder.append('\n');
+        for (LoadResult result : results.values()) {
+            builder.append(String.format(Locale.ROOT, "%-14s%-14d%-14d%-14.1f", result.getMode().getName(), result.getRequests(),
+                    result.getErrors(), result.getThroughput()));
+            for (double percentile : PERCENTILES) {
+                builder.append(String.format(Locale.ROOT, "%-14.3f", result.getLatencyMillis(percentile)));
+            }
+            builder.append('\n');
+        }
+
+        for (LoadResult result : results.values()) {
+            LoadMode baseline = result.getMode().getBaseline();
+            if (baseline == null || !results.containsKey(baseline)) {
+                continue;
+            }
+            LoadResult base = results.get(baseline);
+            builder.append(String.format(Locale.ROOT, "%s vs %s: throughput x%.3f,p50 %+.3f ms,p99 %+.3f ms,p99.9 %+.3f ms%n",
+                    result.getMode().getName(), baseline.getName(),
+                    result.getThroughput() / Math.max(base.getThroughput(), 1e-9),
+                    result.getLatencyMillis(50) - base.getLatencyMillis(50),
+                    result.getLatencyMillis(99) - base.getLatencyMillis(99),
+                    result.getLatencyMillis(99.9) - base.getLatencyMillis(99.9)));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * one {@code <mode>.hgrm} per mode,values in millis
+     */
+    public List<Path> writeHistograms(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        List<Path> files = new ArrayList<>();
+        for (LoadResult result : results.values()) {
+            Path file = directory.resolve(result.getMode().getName() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, StandardCharsets.UTF_8.name())) {
+                result.getHistogram().outputPercentileDistribution(out, 1000.0);
+            }
+            files.add(file);
+        }
+        return files;
+    }
+}
@@ -0,0 +1,63 @@
+package org.devil.proxy.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * latency distribution in micros and throughput of the measured load of one mode
+ *
+ * @author yaojun
+ * 2026/10/20 16:52
+ */
+public class LoadResult {
+
+    private final LoadMode mode;
+
+    private final LoadShape shape;
+
+    private final Histogram histogram;
+
+    private final long errors;
+
+    private final long elapsedNanos;
+
+    public LoadResult(LoadMode mode, LoadShape shape, Histogram histogram, long errors, long elapsedNanos) {
+        this.mode = mode;
+        this.shape = shape;
+        this.histogram = histogram;
+        this.errors = errors;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public LoadMode getMode() {
+        return mode;
+    }
+
+    public LoadShape getShape() {
+        return shape;
+    }
+
+    public Histogram getHistogram() {
+        return histogram;
+    }
+
+    public long getRequests() {
+        return histogram.getTotalCount();
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public double getThroughput() {
+        return getRequests() / (elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * @return latency at the percentile in millis
+     */
+    public double getLatencyMillis(double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
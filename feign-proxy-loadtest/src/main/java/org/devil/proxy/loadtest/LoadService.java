@@ -0,0 +1,73 @@
+package org.devil.proxy.loadtest;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * local stub behind both the proxy and the plain controller.
+ * {@code loadtest.service-delay-millis} simulates a downstream call,blocking the request thread for sync calls and
+ * completing the future from a scheduler for async calls
+ *
+ * @author yaojun
+ * 2026/10/20 16:10
+ */
+@Service
+public class LoadService implements LoadClient {
+
+    private final long delayMillis;
+
+    private final Map<String, String> attributes;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "loadtest-async");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public LoadService(@Value("${loadtest.service-delay-millis:0}") long delayMillis,
+                       @Value("${loadtest.payload-fields:20}") int payloadFields) {
+        this.delayMillis = delayMillis;
+        Map<String, String> attributes = new LinkedHashMap<>();
+        for (int i = 0; i < payloadFields; i++) {
+            attributes.put("attribute" + i, "value-" + i);
+        }
+        this.attributes = Collections.unmodifiableMap(attributes);
+    }
+
+    @Override
+    public Payload payload(long id) {
+        if (delayMillis > 0) {
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return newPayload(id);
+    }
+
+    @Override
+    public CompletableFuture<Payload> asyncPayload(long id) {
+        CompletableFuture<Payload> future = new CompletableFuture<>();
+        scheduler.schedule(() -> future.complete(newPayload(id)), delayMillis, TimeUnit.MILLISECONDS);
+        return future;
+    }
+
+    private Payload newPayload(long id) {
+        return new Payload(id, "payload-" + id, attributes);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
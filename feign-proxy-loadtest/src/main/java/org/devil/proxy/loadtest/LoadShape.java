@@ -0,0 +1,81 @@
+package org.devil.proxy.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * load of every mode,read from system properties
+ * <pre>
+ *     -Dloadtest.modes=plain,proxy,plain-async,proxy-async
+ *     -Dloadtest.concurrency=16          worker threads,each with its own connection
+ *     -Dloadtest.rate=0                  requests per second of all workers,0 for closed loop
+ *     -Dloadtest.warmup-seconds=10       unreported load per mode
+ *     -Dloadtest.duration-seconds=30     reported load per mode
+ * </pre>
+ *
+ * @author yaojun
+ * 2026/10/20 16:34
+ */
+public class LoadShape {
+
+    private final LoadMode[] modes;
+
+    private final int concurrency;
+
+    private final int rate;
+
+    private final int warmupSeconds;
+
+    private final int durationSeconds;
+
+    public LoadShape(LoadMode[] modes, int concurrency, int rate, int warmupSeconds, int durationSeconds) {
+        this.modes = modes;
+        this.concurrency = concurrency;
+        this.rate = rate;
+        this.warmupSeconds = warmupSeconds;
+        this.durationSeconds = durationSeconds;
+    }
+
+    public static LoadShape fromSystemProperties() {
+        LoadMode[] modes = Arrays.stream(System.getProperty("loadtest.modes", "plain,proxy,plain-async,proxy-async").split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .map(LoadMode::forName)
+                .toArray(LoadMode[]::new);
+        return new LoadShape(modes,
+                Math.max(1, Integer.getInteger("loadtest.concurrency", 16)),
+                Integer.getInteger("loadtest.rate", 0),
+                Integer.getInteger("loadtest.warmup-seconds", 10),
+                Integer.getInteger("loadtest.duration-seconds", 30));
+    }
+
+    public LoadMode[] getModes() {
+        return modes;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public int getRate() {
+        return rate;
+    }
+
+    public boolean isOpenLoop() {
+        return rate > 0;
+    }
+
+    public int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    @Override
+    public String toString() {
+        return "modes=" + Arrays.toString(modes) + ",concurrency=" + concurrency
+                + (isOpenLoop() ? ",open loop rate=" + rate + "/s" : ",closed loop")
+                + ",warmup=" + warmupSeconds + "s,duration=" + durationSeconds + "s";
+    }
+}
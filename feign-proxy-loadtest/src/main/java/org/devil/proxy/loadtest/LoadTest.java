@@ -0,0 +1,79 @@
+package org.devil.proxy.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * load test of the generated proxies against hand written controllers,everything runs in one jvm on loopback.
+ * <p>
+ * the server context boots {@link LoadTestServer} on an embedded tomcat,the client context calls it with real feign
+ * clients from {@link LoadTestClients},then every mode of {@link LoadShape} is warmed up and measured in turn
+ * <pre>
+ *     java -Dloadtest.concurrency=32 -Dloadtest.rate=5000 -Dloadtest.histograms=target/loadtest \
+ *          -Dloadtest.service-delay-millis=2 -cp ... org.devil.proxy.loadtest.LoadTest
+ * </pre>
+ * other server settings,like {@code -Dfeign.proxy.generator=asm} or {@code -Dserver.tomcat.max-threads=400},are
+ * passed as system properties
+ *
+ * @author yaojun
+ * 2026/10/20 17:05
+ */
+public class LoadTest {
+
+    private final static Logger logger = LoggerFactory.getLogger(LoadTest.class);
+
+    public static void main(String[] args) throws Exception {
+        LoadShape shape = LoadShape.fromSystemProperties();
+
+        /**
+         * HttpURLConnection keeps 5 idle connections per host by default,one per worker avoids reconnecting
+         */
+        if (System.getProperty("http.maxConnections") == null) {
+            System.setProperty("http.maxConnections", String.valueOf(Math.max(5, shape.getConcurrency())));
+        }
+
+        ConfigurableApplicationContext server = new SpringApplicationBuilder(LoadTestServer.class)
+                .properties("server.port=" + System.getProperty("loadtest.port", "0"))
+                .run(args);
+        try {
+            int port = ((WebServerApplicationContext) server).getWebServer().getPort();
+            if (logger.isInfoEnabled()) {
+                logger.info("load test server on port {}", port);
+            }
+            ConfigurableApplicationContext clients = new SpringApplicationBuilder(LoadTestClients.class)
+                    .web(WebApplicationType.NONE)
+                    .bannerMode(Banner.Mode.OFF)
+                    .properties("loadtest.url=http://127.0.0.1:" + port,
+                            "feign.client.config.default.connectTimeout=5000",
+                            "feign.client.config.default.readTimeout=60000")
+                    .run(args);
+            try {
+                LoadDriver driver = new LoadDriver(shape, clients.getBean(LoadClient.class), clients.getBean(PlainLoadClient.class));
+                LoadReport report = new LoadReport(shape);
+                for (LoadMode mode : shape.getModes()) {
+                    report.add(driver.run(mode));
+                }
+                System.out.println(report.toTable());
+
+                String histograms = System.getProperty("loadtest.histograms");
+                if (histograms != null) {
+                    for (Path file : report.writeHistograms(Paths.get(histograms))) {
+                        logger.info("histogram written to {}", file);
+                    }
+                }
+            } finally {
+                clients.close();
+            }
+        } finally {
+            server.close();
+        }
+    }
+}
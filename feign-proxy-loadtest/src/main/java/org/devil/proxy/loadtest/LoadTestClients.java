@@ -0,0 +1,17 @@
+package org.devil.proxy.loadtest;
+
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * client side of the load test: real feign clients of both endpoint sets against {@code loadtest.url}
+ *
+ * @author yaojun
+ * 2026/10/20 16:20
+ */
+@Configuration
+@EnableAutoConfiguration
+@EnableFeignClients(clients = {LoadClient.class, PlainLoadClient.class}, defaultConfiguration = LoadTestFeignConfiguration.class)
+public class LoadTestClients {
+}
@@ -0,0 +1,21 @@
+package org.devil.proxy.loadtest;
+
+import org.devil.proxy.annotation.EnableAutoProxyFeign;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * server side of the load test: the stub service,its generated proxy under {@code /proxy} and the
+ * plain controller under {@code /plain} on an embedded server.
+ * nothing is component scanned,the client side lives in the same package
+ *
+ * @author yaojun
+ * 2026/10/20 16:18
+ */
+@Configuration
+@EnableAutoConfiguration
+@EnableAutoProxyFeign(clients = LoadClient.class)
+@Import({LoadService.class, PlainController.class})
+public class LoadTestServer {
+}
@@ -0,0 +1,51 @@
+package org.devil.proxy.loadtest;
+
+import java.util.Map;
+
+/**
+ * response body of the stub endpoints
+ *
+ * @author yaojun
+ * 2026/10/20 16:02
+ */
+public class Payload {
+
+    private long id;
+
+    private String name;
+
+    private Map<String, String> attributes;
+
+    public Payload() {
+    }
+
+    public Payload(long id, String name, Map<String, String> attributes) {
+        this.id = id;
+        this.name = name;
+        this.attributes = attributes;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Map<String, String> getAttributes() {
+        return attributes;
+    }
+
+    public void setAttributes(Map<String, String> attributes) {
+        this.attributes = attributes;
+    }
+}
@@ -0,0 +1,33 @@
+package org.devil.proxy.loadtest;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.annotation.Resource;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * hand written controller equivalent of the generated proxy,the baseline of the comparison
+ *
+ * @author yaojun
+ * 2026/10/20 16:14
+ */
+@RestController
+@RequestMapping("/plain")
+public class PlainController {
+
+    @Resource
+    private LoadService loadService;
+
+    @GetMapping("/payload/{id}")
+    public Payload payload(@PathVariable("id") long id) {
+        return loadService.payload(id);
+    }
+
+    @GetMapping("/async/payload/{id}")
+    public CompletableFuture<Payload> asyncPayload(@PathVariable("id") long id) {
+        return loadService.asyncPayload(id);
+    }
+}
@@ -0,0 +1,23 @@
+package org.devil.proxy.loadtest;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * same endpoints as {@link LoadClient},served by the hand written {@link PlainController}
+ *
+ * @author yaojun
+ * 2026/10/20 16:06
+ */
+@FeignClient(name = "plainLoad", url = "${loadtest.url}", path = "/plain", qualifier = "plainLoadClient")
+public interface PlainLoadClient {
+
+    @GetMapping("/payload/{id}")
+    Payload payload(@PathVariable("id") long id);
+
+    @GetMapping("/async/payload/{id}")
+    CompletableFuture<Payload> asyncPayload(@PathVariable("id") long id);
+}